@@ -0,0 +1,32 @@
+package com.example.framework.benchmarks;
+
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.pages.BasePage;
+import com.microsoft.playwright.Page;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Page object that exposes the protected {@link BasePage} helpers to the benchmarks.
+ */
+public class BenchmarkPage extends BasePage<BenchmarkPage> {
+
+    public BenchmarkPage(Page page, FrameworkConfig config) {
+        super(page, config);
+    }
+
+    @Override
+    protected BenchmarkPage self() {
+        return this;
+    }
+
+    public <R> R runStep(String name, Supplier<R> supplier) {
+        return stepResult(name, supplier);
+    }
+
+    public List<Map<String, String>> extract(String rowSelector, Map<String, String> fields) {
+        return extractAll(rowSelector, fields, row -> row);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.framework.benchmarks;
+
+import com.example.framework.config.ConfigurationManager;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Headless browser with one page per benchmark thread; Playwright objects must stay on the thread that created them.
+ */
+@State(Scope.Thread)
+public class BrowserFixture {
+
+    Playwright playwright;
+    Browser browser;
+    Page page;
+    BenchmarkPage pageObject;
+
+    @Setup(Level.Trial)
+    public void launch() {
+        playwright = Playwright.create();
+        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+        page = browser.newPage();
+        pageObject = new BenchmarkPage(page, ConfigurationManager.configuration());
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        browser.close();
+        playwright.close();
+    }
+}
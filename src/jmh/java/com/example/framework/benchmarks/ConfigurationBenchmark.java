@@ -0,0 +1,39 @@
+package com.example.framework.benchmarks;
+
+import com.example.framework.config.ConfigurationManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One configuration lookup through the system property, environment, .env and properties chain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dbenchmark.system.key=from-system")
+@State(Scope.Thread)
+public class ConfigurationBenchmark {
+
+    /**
+     * Where the value is found: the first link of the chain (JVM option of the fork), the last one
+     * ({@code trace.level} from {@code framework.properties}), or nowhere (default value).
+     */
+    @Param({"benchmark.system.key", "trace.level", "benchmark.missing.key"})
+    public String key;
+
+    @Benchmark
+    public String resolve() {
+        return ConfigurationManager.setting(key, "default"); // та же цепочка, что и при загрузке конфигурации
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.framework.benchmarks;
+
+import com.example.framework.core.support.FileSystemSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Artifact naming helpers that run for every screenshot, trace chunk and video.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FileSystemBenchmark {
+
+    // так выглядит uniqueId JUnit, из которого строится testId
+    private static final String UNIQUE_ID = "[engine:junit-jupiter]/[class:com.example.framework.tests.regression.UfcSearchTest]/[method:findTourneyAndTestFilter()]";
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("framework-benchmark");
+    }
+
+    @Benchmark
+    public String sanitizeFileName() {
+        return FileSystemSupport.sanitizeFileName(UNIQUE_ID);
+    }
+
+    @Benchmark
+    public Path buildArtifactPath() {
+        return FileSystemSupport.buildArtifactPath(directory, UNIQUE_ID + "-failure", ".png");
+    }
+}
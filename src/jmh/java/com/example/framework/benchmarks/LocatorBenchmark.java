@@ -0,0 +1,78 @@
+package com.example.framework.benchmarks;
+
+import com.microsoft.playwright.Locator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver round trips against a local static fixture: a single locator read, per-locator extraction of a card list
+ * and the bulk {@code BasePage.extractAll} that reads the same list in one {@code evaluateAll}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+@State(Scope.Thread)
+public class LocatorBenchmark {
+
+    private static final String ROWS = "div.card";
+    private static final Map<String, String> FIELDS = Map.of(
+            "day", "span.day",
+            "month", "span.month",
+            "year", "span.year"
+    );
+
+    @Param({"10", "100"})
+    public int rows;
+
+    @Setup(Level.Trial)
+    public void loadFixture(BrowserFixture browser) {
+        StringBuilder html = new StringBuilder("<html><body><h1 id='title'>Fixture</h1>");
+        for (int i = 0; i < rows; i++) {
+            html.append("<div class='card'><span class='day'>").append(i % 28 + 1)
+                    .append("</span><span class='month'>мар</span><span class='year'>").append(2000 + i).append("</span></div>");
+        }
+        browser.page.setContent(html.append("</body></html>").toString()); // статический фикстур без сети
+    }
+
+    @Benchmark
+    public String singleRoundTrip(BrowserFixture browser) {
+        return browser.page.locator("#title").textContent();
+    }
+
+    @Benchmark
+    public List<Map<String, String>> perLocatorExtraction(BrowserFixture browser) {
+        Locator cards = browser.page.locator(ROWS);
+        int count = cards.count();
+        List<Map<String, String>> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Locator card = cards.nth(i);
+            Map<String, String> values = new LinkedHashMap<>();
+            FIELDS.forEach((name, selector) -> values.put(name, card.locator(selector).innerText())); // по обращению к драйверу на поле
+            result.add(values);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, String>> bulkExtraction(BrowserFixture browser) {
+        return browser.pageObject.extract(ROWS, FIELDS);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.framework.benchmarks;
+
+import com.example.framework.core.BrowserRegistry;
+import com.example.framework.core.PlaywrightFactory;
+import com.example.framework.core.PlaywrightSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code PlaywrightFactory.newSession} and {@code PlaywrightSession.close}: cold (browser per test, no context pool)
+ * versus warm (browser per worker with a pre-built context).
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Thread)
+public class SessionBenchmark {
+
+    private static final String COLD = "-Disolation=per-test";
+    private static final String WARM = "-Disolation=per-worker";
+    private static final String QUIET = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off";
+
+    private int sequence;
+    private PlaywrightSession open;
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {COLD, "-Dcontext.pool.size=0", QUIET})
+    public PlaywrightSession coldNewSession() {
+        open = PlaywrightFactory.newSession(nextId()); // закрывается в tearDown, вне замера
+        return open;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {COLD, "-Dcontext.pool.size=0", QUIET})
+    public void coldNewSessionAndClose() {
+        PlaywrightFactory.newSession(nextId()).close();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {WARM, "-Dcontext.pool.size=1", QUIET})
+    public PlaywrightSession warmNewSession() {
+        open = PlaywrightFactory.newSession(nextId());
+        return open;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {WARM, "-Dcontext.pool.size=1", QUIET})
+    public void warmNewSessionAndClose() {
+        PlaywrightFactory.newSession(nextId()).close();
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeOpenSession() {
+        if (open != null) {
+            open.close(); // в тёплом режиме здесь же пул готовит контекст к следующему вызову
+            open = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        BrowserRegistry.shutdown();
+    }
+
+    private String nextId() {
+        return "benchmark-" + sequence++;
+    }
+}
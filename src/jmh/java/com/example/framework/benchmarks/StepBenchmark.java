@@ -0,0 +1,124 @@
+package com.example.framework.benchmarks;
+
+import com.example.framework.core.metrics.StepLatency;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of wrapping an action in {@code BasePage.stepResult} (Allure step, trace chunk hook, latency histogram).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=off")
+public class StepBenchmark {
+
+    private static final String STEP = "Benchmark step";
+
+    @Benchmark
+    public Integer plainSupplier() {
+        return compute(); // точка отсчёта: то же действие без обёртки
+    }
+
+    @Benchmark
+    public Integer stepWithoutAllureTestCase(BrowserFixture browser, Drain drain) {
+        drain.tick(browser);
+        return browser.pageObject.runStep(STEP, StepBenchmark::compute); // Allure не знает текущего теста и отбрасывает шаг
+    }
+
+    @Benchmark
+    public Integer stepWithAllureTestCase(BrowserFixture browser, Drain drain, RunningTestCase testCase) {
+        drain.tick(browser);
+        return browser.pageObject.runStep(STEP, StepBenchmark::compute);
+    }
+
+    private static Integer compute() {
+        return 42;
+    }
+
+    /**
+     * Drains per-page step samples periodically so the benchmark does not measure an ever-growing queue.
+     */
+    @State(Scope.Thread)
+    public static class Drain {
+
+        private int calls;
+
+        void tick(BrowserFixture browser) {
+            if ((++calls & 1023) == 0) {
+                StepLatency.drain(browser.page);
+            }
+        }
+    }
+
+    /**
+     * Real Allure lifecycle with a test case running; a fresh test case per invocation keeps the step list from growing.
+     */
+    @State(Scope.Thread)
+    public static class RunningTestCase {
+
+        private AllureLifecycle previous;
+        private AllureLifecycle lifecycle;
+        private String uuid;
+
+        @Setup(Level.Trial)
+        public void install() {
+            previous = Allure.getLifecycle();
+            lifecycle = new AllureLifecycle(new DiscardingWriter());
+            Allure.setLifecycle(lifecycle);
+        }
+
+        @Setup(Level.Invocation)
+        public void startTestCase() {
+            uuid = UUID.randomUUID().toString();
+            lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("benchmark"));
+            lifecycle.startTestCase(uuid);
+        }
+
+        @TearDown(Level.Invocation)
+        public void stopTestCase() {
+            lifecycle.stopTestCase(uuid);
+            lifecycle.writeTestCase(uuid);
+        }
+
+        @TearDown(Level.Trial)
+        public void restore() {
+            Allure.setLifecycle(previous);
+        }
+    }
+
+    private static final class DiscardingWriter implements AllureResultsWriter {
+
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.framework.config;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Named set of rules describing which browser requests are aborted before they hit the network.
+ *
+ * @param name          profile name referenced from config and annotations
+ * @param resourceTypes Playwright resource types to block (image, media, font, stylesheet, ...)
+ * @param allowDomains  when not empty, only these domains (and their subdomains) may be requested
+ * @param denyDomains   domains (and their subdomains) that are always blocked
+ */
+public record BlockingProfile(String name,
+                              Set<String> resourceTypes,
+                              List<String> allowDomains,
+                              List<String> denyDomains) {
+
+    public static final String FULL = "full";
+
+    public BlockingProfile {
+        resourceTypes = Set.copyOf(resourceTypes);
+        allowDomains = List.copyOf(allowDomains);
+        denyDomains = List.copyOf(denyDomains);
+    }
+
+    public boolean blocksNothing() {
+        return resourceTypes.isEmpty() && allowDomains.isEmpty() && denyDomains.isEmpty();
+    }
+
+    public boolean blocks(String resourceType, String host) {
+        if (resourceTypes.contains(resourceType)) {
+            return true;
+        }
+        String normalizedHost = host == null ? "" : host.toLowerCase(Locale.ROOT);
+        if (denyDomains.stream().anyMatch(domain -> matchesDomain(normalizedHost, domain))) {
+            return true;
+        }
+        return !allowDomains.isEmpty() && allowDomains.stream().noneMatch(domain -> matchesDomain(normalizedHost, domain));
+    }
+
+    private static boolean matchesDomain(String host, String domain) {
+        return host.equals(domain) || host.endsWith("." + domain); // поддомены наследуют правило
+    }
+}
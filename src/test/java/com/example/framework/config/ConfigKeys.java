@@ -6,17 +6,68 @@ package com.example.framework.config;
 public final class ConfigKeys {
 
     public static final String BASE_URL = "baseUrl";
+    public static final String NAVIGATION_INITIAL = "navigation.initial";
+    public static final String FIXTURE_ENABLED = "fixture.enabled";
+    public static final String FIXTURE_LATENCY_MS = "fixture.latency.ms";
+    public static final String FIXTURE_RESULTS = "fixture.results";
     public static final String BROWSER = "browser";
+    public static final String BROWSER_MATRIX = "browser.matrix";
     public static final String HEADLESS = "headless";
     public static final String SLOW_MO = "slowMo";
     public static final String TIMEOUT_MS = "timeoutMs";
+    public static final String VIEWPORT_WIDTH = "viewport.width";
+    public static final String VIEWPORT_HEIGHT = "viewport.height";
+    public static final String LOCALE = "locale";
     public static final String VIDEO_ENABLED = "video.enabled";
     public static final String VIDEO_FOLDER = "video.folder";
     public static final String TRACE_ENABLED = "trace.enabled";
     public static final String TRACE_FOLDER = "trace.folder";
+    public static final String TRACE_LEVEL = "trace.level";
+    public static final String TRACE_CHUNKS_KEEP = "trace.chunks.keep";
+    public static final String STEP_LATENCY_REPORT = "step.latency.report";
+    public static final String STEP_LATENCY_BASELINE = "step.latency.baseline";
+    public static final String STEP_LATENCY_THRESHOLD_PCT = "step.latency.threshold.pct";
+    public static final String STEP_TIMEOUT_MODE = "step.timeout.mode";
+    public static final String STEP_TIMEOUT_HISTORY_FILE = "step.timeout.history.file";
+    public static final String STEP_TIMEOUT_FACTOR_PCT = "step.timeout.factor.pct";
+    public static final String STEP_TIMEOUT_MIN_MS = "step.timeout.min.ms";
+    public static final String STEP_TIMEOUT_MAX_MS = "step.timeout.max.ms";
+    public static final String STEP_TIMEOUT_MIN_SAMPLES = "step.timeout.min.samples";
+    public static final String PERF_VITALS_ENABLED = "perf.vitals.enabled";
+    public static final String PERF_VITALS_REPORT = "perf.vitals.report";
+    public static final String DURATION_HISTORY_FILE = "duration.history.file";
+    public static final String DURATION_DEFAULT_MS = "duration.default.ms";
+    public static final String SHARD_INDEX = "shard.index";
+    public static final String SHARD_TOTAL = "shard.total";
+    public static final String SHARD_REPORT_FOLDER = "shard.report.folder";
+    public static final String DIAGNOSTICS_MODE = "diagnostics.mode";
     public static final String SCREENSHOTS_FOLDER = "screenshots.folder";
     public static final String DOWNLOADS_FOLDER = "downloads.folder";
+    public static final String ARTIFACTS_QUEUE_CAPACITY = "artifacts.queue.capacity";
+    public static final String ARTIFACTS_WRITER_THREADS = "artifacts.writer.threads";
+    public static final String ARTIFACTS_COMPRESS = "artifacts.compress";
+    public static final String NETWORK_MODE = "network.mode";
+    public static final String HAR_FOLDER = "har.folder";
+    public static final String HAR_STRICT = "har.strict";
+    public static final String ASSET_CACHE_ENABLED = "asset.cache.enabled";
+    public static final String ASSET_CACHE_MAX_MB = "asset.cache.max.mb";
+    public static final String BLOCKING_PROFILE = "blocking.profile";
+    public static final String BLOCKING_PROFILES = "blocking.profiles";
+    public static final String BLOCKING_PROFILE_PREFIX = "blocking.profile.";
+    public static final String BLOCKING_TYPES_SUFFIX = ".types";
+    public static final String BLOCKING_ALLOW_SUFFIX = ".allow";
+    public static final String BLOCKING_DENY_SUFFIX = ".deny";
     public static final String PARALLELISM = "parallelism";
+    public static final String BROWSER_MEMORY_MB = "browser.memory.mb";
+    public static final String BROWSER_SLOTS = "browser.slots";
+    public static final String EXECUTOR_MODE = "executor.mode";
+    public static final String ISOLATION = "isolation";
+    public static final String BROWSER_SERVER_ENABLED = "browser.server.enabled";
+    public static final String BROWSER_SERVER_FOLDER = "browser.server.folder";
+    public static final String BROWSER_SERVER_START_TIMEOUT_MS = "browser.server.start.timeout.ms";
+    public static final String CONTEXT_POOL_SIZE = "context.pool.size";
+    public static final String WATCHDOG_ENABLED = "watchdog.enabled";
+    public static final String WATCHDOG_IDLE_TIMEOUT_MS = "watchdog.idle.timeout.ms";
 
     private ConfigKeys() {
     }
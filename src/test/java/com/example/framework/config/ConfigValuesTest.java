@@ -0,0 +1,82 @@
+package com.example.framework.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parsing of enumerated configuration values: defaults for blank values, case and whitespace, aliases and typos.
+ */
+class ConfigValuesTest {
+
+    @Test
+    @DisplayName("navigation.initial")
+    void navigationMode() {
+        assertEquals(NavigationMode.EAGER, NavigationMode.fromValue(null));
+        assertEquals(NavigationMode.EAGER, NavigationMode.fromValue(" "));
+        assertEquals(NavigationMode.LAZY, NavigationMode.fromValue(" Lazy "));
+        assertEquals(NavigationMode.NONE, NavigationMode.fromValue("NONE"));
+        assertRejected(() -> NavigationMode.fromValue("later"), "later");
+    }
+
+    @Test
+    @DisplayName("trace.level")
+    void traceLevel() {
+        assertEquals(TraceLevel.FULL, TraceLevel.fromValue(""));
+        assertEquals(TraceLevel.DOM_ONLY, TraceLevel.fromValue("DOM-only"));
+        assertEquals(TraceLevel.OFF, TraceLevel.fromValue("off"));
+        assertRejected(() -> TraceLevel.fromValue("dom_only"), "dom_only");
+    }
+
+    @Test
+    @DisplayName("network.mode")
+    void networkMode() {
+        assertEquals(NetworkMode.LIVE, NetworkMode.fromValue(null));
+        assertEquals(NetworkMode.RECORD, NetworkMode.fromValue("Record"));
+        assertEquals(NetworkMode.REPLAY, NetworkMode.fromValue("replay\n"));
+        assertRejected(() -> NetworkMode.fromValue("offline"), "offline");
+    }
+
+    @Test
+    @DisplayName("isolation.level accepts short names and underscores")
+    void isolationLevel() {
+        assertEquals(IsolationLevel.PER_WORKER, IsolationLevel.fromValue(""));
+        assertEquals(IsolationLevel.PER_TEST, IsolationLevel.fromValue("test"));
+        assertEquals(IsolationLevel.PER_CLASS, IsolationLevel.fromValue("PER_CLASS"));
+        assertEquals(IsolationLevel.PER_WORKER, IsolationLevel.fromValue("per-worker"));
+        assertRejected(() -> IsolationLevel.fromValue("per-suite"), "per-suite");
+    }
+
+    @Test
+    @DisplayName("executor.mode")
+    void executorMode() {
+        assertEquals(ExecutorMode.PLATFORM, ExecutorMode.fromValue(null));
+        assertEquals(ExecutorMode.VIRTUAL, ExecutorMode.fromValue("Virtual"));
+        assertRejected(() -> ExecutorMode.fromValue("loom"), "loom");
+    }
+
+    @Test
+    @DisplayName("diagnostics.mode")
+    void diagnosticsMode() {
+        assertEquals(DiagnosticsMode.ALWAYS, DiagnosticsMode.fromValue(""));
+        assertEquals(DiagnosticsMode.ON_RETRY, DiagnosticsMode.fromValue(" on-retry"));
+        assertRejected(() -> DiagnosticsMode.fromValue("on_retry"), "on_retry");
+    }
+
+    @Test
+    @DisplayName("step.timeout.mode")
+    void stepTimeoutMode() {
+        assertEquals(StepTimeoutMode.LEARN, StepTimeoutMode.fromValue(null));
+        assertEquals(StepTimeoutMode.ENFORCE, StepTimeoutMode.fromValue("ENFORCE"));
+        assertEquals(StepTimeoutMode.OFF, StepTimeoutMode.fromValue("off"));
+        assertRejected(() -> StepTimeoutMode.fromValue("strict"), "strict");
+    }
+
+    private static void assertRejected(org.junit.jupiter.api.function.Executable parse, String value) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, parse);
+        assertTrue(error.getMessage().endsWith(": " + value), error.getMessage());
+    }
+}
@@ -8,9 +8,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Loads configuration from properties file, environment variables, and JVM system properties.
@@ -24,16 +29,37 @@ public final class ConfigurationManager {
             .ignoreIfMissing()
             .load();
 
-    private static final FrameworkConfig CONFIG = load();
+    private static final List<String> ANALYTICS_DOMAINS = List.of(
+            "google-analytics.com",
+            "googletagmanager.com",
+            "doubleclick.net",
+            "mc.yandex.ru",
+            "connect.facebook.net",
+            "top-fwz1.mail.ru"
+    );
+    private static final Map<String, BlockingProfile> DEFAULT_BLOCKING_PROFILES = Map.of(
+            "full", new BlockingProfile("full", Set.of(), List.of(), List.of()),
+            "no-media", new BlockingProfile("no-media", Set.of("image", "media", "font"), List.of(), ANALYTICS_DOMAINS),
+            "dom-only", new BlockingProfile("dom-only", Set.of("image", "media", "font", "stylesheet"), List.of(), ANALYTICS_DOMAINS)
+    );
+
+    private static final Properties PROPERTIES = loadProperties();
 
     private ConfigurationManager() {
     }
 
     public static FrameworkConfig configuration() {
-        return CONFIG;
+        return Holder.CONFIG;
     }
 
-    private static FrameworkConfig load() {
+    /**
+     * Resolves a single raw value without building the configuration, for code that must run before it is loaded.
+     */
+    public static String setting(String key, String defaultValue) {
+        return resolve(key, PROPERTIES, defaultValue);
+    }
+
+    private static Properties loadProperties() {
         Properties properties = new Properties();
         try (InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(CONFIG_RESOURCE)) {
             if (stream != null) {
@@ -42,52 +68,233 @@ public final class ConfigurationManager {
         } catch (IOException e) {
             throw new IllegalStateException("Unable to load configuration from " + CONFIG_RESOURCE, e);
         }
+        return properties;
+    }
 
+    private static FrameworkConfig load() {
+        Properties properties = PROPERTIES;
         String baseUrl = resolveString(ConfigKeys.BASE_URL, properties, "https://playwright.dev");
+        NavigationMode initialNavigation = NavigationMode.fromValue(resolveString(ConfigKeys.NAVIGATION_INITIAL, properties, "eager"));
+        boolean fixtureEnabled = resolveBoolean(ConfigKeys.FIXTURE_ENABLED, properties, false);
+        int fixtureLatencyMs = resolveInteger(ConfigKeys.FIXTURE_LATENCY_MS, properties, 0);
+        int fixtureResults = resolveInteger(ConfigKeys.FIXTURE_RESULTS, properties, 20);
         String browser = resolveString(ConfigKeys.BROWSER, properties, "chromium");
+        List<String> browserMatrix = resolveList(ConfigKeys.BROWSER_MATRIX, properties, "chromium,firefox,webkit");
         boolean headless = resolveBoolean(ConfigKeys.HEADLESS, properties, true);
         int slowMo = resolveInteger(ConfigKeys.SLOW_MO, properties, 0);
         int timeout = resolveInteger(ConfigKeys.TIMEOUT_MS, properties, 30_000);
+        int viewportWidth = resolveInteger(ConfigKeys.VIEWPORT_WIDTH, properties, 1280);
+        int viewportHeight = resolveInteger(ConfigKeys.VIEWPORT_HEIGHT, properties, 720);
+        String localeValue = resolveString(ConfigKeys.LOCALE, properties, "");
+        String locale = isNotBlank(localeValue) ? localeValue : Locale.getDefault().toLanguageTag(); // пусто — локаль машины
         boolean videoEnabled = resolveBoolean(ConfigKeys.VIDEO_ENABLED, properties, true);
         Path videoDir = resolvePath(ConfigKeys.VIDEO_FOLDER, properties, "target/videos");
         boolean traceEnabled = resolveBoolean(ConfigKeys.TRACE_ENABLED, properties, true);
         Path traceDir = resolvePath(ConfigKeys.TRACE_FOLDER, properties, "target/traces");
+        TraceLevel traceLevel = TraceLevel.fromValue(resolveString(ConfigKeys.TRACE_LEVEL, properties, "full"));
+        int traceChunksKeep = resolveInteger(ConfigKeys.TRACE_CHUNKS_KEEP, properties, 3);
+        DiagnosticsMode diagnosticsMode = DiagnosticsMode.fromValue(resolveString(ConfigKeys.DIAGNOSTICS_MODE, properties, "always"));
+        Path stepLatencyReport = resolvePath(ConfigKeys.STEP_LATENCY_REPORT, properties, "target/step-latency.json");
+        String stepLatencyBaselineValue = resolveString(ConfigKeys.STEP_LATENCY_BASELINE, properties, "");
+        Path stepLatencyBaseline = isNotBlank(stepLatencyBaselineValue) ? Paths.get(stepLatencyBaselineValue).toAbsolutePath().normalize() : null; // пусто — сравнение выключено
+        int stepLatencyThresholdPct = resolveInteger(ConfigKeys.STEP_LATENCY_THRESHOLD_PCT, properties, 20);
+        StepTimeoutMode stepTimeoutMode = StepTimeoutMode.fromValue(resolveString(ConfigKeys.STEP_TIMEOUT_MODE, properties, "learn"));
+        Path stepTimeoutHistoryFile = resolvePath(ConfigKeys.STEP_TIMEOUT_HISTORY_FILE, properties, "test-history/step-latency.tsv");
+        int stepTimeoutFactorPct = resolveInteger(ConfigKeys.STEP_TIMEOUT_FACTOR_PCT, properties, 300);
+        int stepTimeoutMinMs = resolveInteger(ConfigKeys.STEP_TIMEOUT_MIN_MS, properties, 2_000);
+        int stepTimeoutMaxMs = resolveInteger(ConfigKeys.STEP_TIMEOUT_MAX_MS, properties, timeout); // по умолчанию не дольше общего таймаута
+        int stepTimeoutMinSamples = resolveInteger(ConfigKeys.STEP_TIMEOUT_MIN_SAMPLES, properties, 20);
+        if (stepTimeoutMinMs < 1 || stepTimeoutMinMs > stepTimeoutMaxMs) {
+            throw new IllegalArgumentException("Config key " + ConfigKeys.STEP_TIMEOUT_MIN_MS + " must be between 1 and "
+                    + ConfigKeys.STEP_TIMEOUT_MAX_MS + " (" + stepTimeoutMaxMs + "), got " + stepTimeoutMinMs);
+        }
+        boolean vitalsEnabled = resolveBoolean(ConfigKeys.PERF_VITALS_ENABLED, properties, false);
+        Path vitalsReport = resolvePath(ConfigKeys.PERF_VITALS_REPORT, properties, "target/navigation-vitals.json");
+        Path durationHistoryFile = resolvePath(ConfigKeys.DURATION_HISTORY_FILE, properties, "test-history/durations.tsv");
+        int durationDefaultMs = resolveInteger(ConfigKeys.DURATION_DEFAULT_MS, properties, 30_000);
+        int shardIndex = resolveInteger(ConfigKeys.SHARD_INDEX, properties, 1);
+        int shardTotal = resolveInteger(ConfigKeys.SHARD_TOTAL, properties, 1);
+        if (shardTotal < 1 || shardIndex < 1 || shardIndex > shardTotal) {
+            throw new IllegalArgumentException("Config key " + ConfigKeys.SHARD_INDEX + " must be between 1 and "
+                    + ConfigKeys.SHARD_TOTAL + " (" + shardTotal + "), got " + shardIndex);
+        }
+        Path shardReportDir = resolvePath(ConfigKeys.SHARD_REPORT_FOLDER, properties, "target/shards");
         Path screenshotsDir = resolvePath(ConfigKeys.SCREENSHOTS_FOLDER, properties, "target/screenshots");
         Path downloadsDir = resolvePath(ConfigKeys.DOWNLOADS_FOLDER, properties, "target/downloads");
+        int artifactsQueueCapacity = resolveInteger(ConfigKeys.ARTIFACTS_QUEUE_CAPACITY, properties, 64);
+        int artifactsWriterThreads = resolveInteger(ConfigKeys.ARTIFACTS_WRITER_THREADS, properties, 2);
+        boolean artifactsCompress = resolveBoolean(ConfigKeys.ARTIFACTS_COMPRESS, properties, false);
+        NetworkMode networkMode = NetworkMode.fromValue(resolveString(ConfigKeys.NETWORK_MODE, properties, "live"));
+        Path harDir = resolvePath(ConfigKeys.HAR_FOLDER, properties, "src/test/resources/har");
+        boolean harStrict = resolveBoolean(ConfigKeys.HAR_STRICT, properties, false);
+        boolean assetCacheEnabled = resolveBoolean(ConfigKeys.ASSET_CACHE_ENABLED, properties, false);
+        int assetCacheMaxMb = resolveInteger(ConfigKeys.ASSET_CACHE_MAX_MB, properties, 256);
+        Map<String, BlockingProfile> blockingProfiles = resolveBlockingProfiles(properties);
+        String blockingProfile = resolveString(ConfigKeys.BLOCKING_PROFILE, properties, BlockingProfile.FULL);
+        if (!blockingProfiles.containsKey(blockingProfile)) {
+            throw new IllegalArgumentException("Unknown blocking profile '" + blockingProfile + "' for config key: " + ConfigKeys.BLOCKING_PROFILE);
+        }
         int parallelism = resolveInteger(ConfigKeys.PARALLELISM, properties, Runtime.getRuntime().availableProcessors());
+        int browserMemoryMb = resolveInteger(ConfigKeys.BROWSER_MEMORY_MB, properties, 512);
+        int browserSlots = resolveInteger(ConfigKeys.BROWSER_SLOTS, properties, 0);
+        ExecutorMode executorMode = ExecutorMode.fromValue(resolveString(ConfigKeys.EXECUTOR_MODE, properties, "platform"));
+        IsolationLevel isolation = IsolationLevel.fromValue(resolveString(ConfigKeys.ISOLATION, properties, "per-worker"));
+        int contextPoolSize = resolveInteger(ConfigKeys.CONTEXT_POOL_SIZE, properties, 1);
+        boolean browserServerEnabled = resolveBoolean(ConfigKeys.BROWSER_SERVER_ENABLED, properties, false);
+        Path browserServerDir = resolvePath(ConfigKeys.BROWSER_SERVER_FOLDER, properties, "target/browser-servers");
+        int browserServerStartTimeoutMs = resolveInteger(ConfigKeys.BROWSER_SERVER_START_TIMEOUT_MS, properties, 30_000);
+        boolean watchdogEnabled = resolveBoolean(ConfigKeys.WATCHDOG_ENABLED, properties, false);
+        int watchdogIdleTimeoutMs = resolveInteger(ConfigKeys.WATCHDOG_IDLE_TIMEOUT_MS, properties, 90_000);
+        if (watchdogEnabled && watchdogIdleTimeoutMs <= timeout) {
+            LOG.warn("{}={} мс не больше таймаута действий {} мс — сторож может закрыть сессию раньше, чем сработает таймаут Playwright",
+                    ConfigKeys.WATCHDOG_IDLE_TIMEOUT_MS, watchdogIdleTimeoutMs, timeout);
+        }
 
         FrameworkConfig frameworkConfig = new FrameworkConfig(
                 baseUrl,
+                initialNavigation,
+                fixtureEnabled,
+                fixtureLatencyMs,
+                fixtureResults,
                 browser,
+                browserMatrix,
                 headless,
                 slowMo,
                 timeout,
+                viewportWidth,
+                viewportHeight,
+                locale,
                 videoEnabled,
                 videoDir,
                 traceEnabled,
                 traceDir,
+                traceLevel,
+                traceChunksKeep,
+                diagnosticsMode,
+                stepLatencyReport,
+                stepLatencyBaseline,
+                stepLatencyThresholdPct,
+                stepTimeoutMode,
+                stepTimeoutHistoryFile,
+                stepTimeoutFactorPct,
+                stepTimeoutMinMs,
+                stepTimeoutMaxMs,
+                stepTimeoutMinSamples,
+                vitalsEnabled,
+                vitalsReport,
+                durationHistoryFile,
+                durationDefaultMs,
+                shardIndex,
+                shardTotal,
+                shardReportDir,
                 screenshotsDir,
                 downloadsDir,
-                parallelism
+                artifactsQueueCapacity,
+                artifactsWriterThreads,
+                artifactsCompress,
+                networkMode,
+                harDir,
+                harStrict,
+                assetCacheEnabled,
+                assetCacheMaxMb,
+                blockingProfile,
+                blockingProfiles,
+                parallelism,
+                browserMemoryMb,
+                browserSlots,
+                executorMode,
+                isolation,
+                contextPoolSize,
+                browserServerEnabled,
+                browserServerDir,
+                browserServerStartTimeoutMs,
+                watchdogEnabled,
+                watchdogIdleTimeoutMs
         );
 
-        LOG.info("Конфигурация загружена: baseUrl={}, браузер={}, headless={}, задержка={} мс, таймаут={} мс, видео включено={}, трейс включен={}, параллелизм={}, директории артефактов [скриншоты={}, видео={}, трейсы={}, загрузки={}]",
+        LOG.info("Конфигурация загружена: baseUrl={}, начальная навигация={}, фикстуры={} (задержка={} мс, карточек={}), браузер={} (матрица={}), headless={}, задержка={} мс, таймаут={} мс, окно={}x{}, локаль={}, видео включено={}, трейс включен={} ({}, чанков={}), диагностика={}, длительность шагов={} (база={}, порог={}%), таймауты шагов={} (p99 x {}%, {}..{} мс, от {} замеров), метрики навигации={}, история длительностей={}, шард={}/{}, сеть={} (HAR={}, строго={}), кэш ресурсов={} ({} МБ), профиль блокировки={} из {}, параллелизм={}, память на браузер={} МБ, слоты браузера={}, исполнитель={}, изоляция={}, пул контекстов={}, общий сервер браузеров={} ({}), сторож сессий={} (простой={} мс), директории артефактов [скриншоты={}, видео={}, трейсы={}, загрузки={}], запись артефактов [очередь={}, потоков={}, сжатие={}]",
                 baseUrl,
+                initialNavigation,
+                fixtureEnabled,
+                fixtureLatencyMs,
+                fixtureResults,
                 browser,
+                browserMatrix,
                 headless,
                 slowMo,
                 timeout,
+                viewportWidth,
+                viewportHeight,
+                locale,
                 videoEnabled,
                 traceEnabled,
+                traceLevel,
+                traceChunksKeep,
+                diagnosticsMode,
+                stepLatencyReport,
+                stepLatencyBaseline,
+                stepLatencyThresholdPct,
+                stepTimeoutMode,
+                stepTimeoutFactorPct,
+                stepTimeoutMinMs,
+                stepTimeoutMaxMs,
+                stepTimeoutMinSamples,
+                vitalsEnabled,
+                durationHistoryFile,
+                shardIndex,
+                shardTotal,
+                networkMode,
+                harDir,
+                harStrict,
+                assetCacheEnabled,
+                assetCacheMaxMb,
+                blockingProfile,
+                blockingProfiles.keySet(),
                 parallelism,
+                browserMemoryMb,
+                browserSlots,
+                executorMode,
+                isolation,
+                contextPoolSize,
+                browserServerEnabled,
+                browserServerDir,
+                watchdogEnabled,
+                watchdogIdleTimeoutMs,
                 screenshotsDir,
                 videoDir,
                 traceDir,
-                downloadsDir);
+                downloadsDir,
+                artifactsQueueCapacity,
+                artifactsWriterThreads,
+                artifactsCompress);
 
         return frameworkConfig;
     }
 
+    private static Map<String, BlockingProfile> resolveBlockingProfiles(Properties properties) {
+        Map<String, BlockingProfile> profiles = new LinkedHashMap<>();
+        for (String name : resolveList(ConfigKeys.BLOCKING_PROFILES, properties, "full,no-media,dom-only")) {
+            String prefix = ConfigKeys.BLOCKING_PROFILE_PREFIX + name;
+            BlockingProfile defaults = DEFAULT_BLOCKING_PROFILES.getOrDefault(name,
+                    new BlockingProfile(name, Set.of(), List.of(), List.of())); // новые профили по умолчанию ничего не блокируют
+            profiles.put(name, new BlockingProfile(
+                    name,
+                    Set.copyOf(resolveList(prefix + ConfigKeys.BLOCKING_TYPES_SUFFIX, properties, String.join(",", defaults.resourceTypes()))),
+                    resolveList(prefix + ConfigKeys.BLOCKING_ALLOW_SUFFIX, properties, String.join(",", defaults.allowDomains())),
+                    resolveList(prefix + ConfigKeys.BLOCKING_DENY_SUFFIX, properties, String.join(",", defaults.denyDomains()))
+            ));
+        }
+        return Map.copyOf(profiles);
+    }
+
+    private static List<String> resolveList(String key, Properties properties, String defaultValue) {
+        return Arrays.stream(resolve(key, properties, defaultValue).split(","))
+                .map(String::trim)
+                .filter(ConfigurationManager::isNotBlank)
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
     private static String resolveString(String key, Properties properties, String defaultValue) {
         return resolve(key, properties, defaultValue);
     }
@@ -143,5 +350,10 @@ public final class ConfigurationManager {
     private static boolean isNotBlank(String value) {
         return value != null && !value.trim().isEmpty();
     }
+
+    private static final class Holder {
+
+        private static final FrameworkConfig CONFIG = load(); // собирается при первом обращении, после переопределений из слушателей запуска
+    }
 }
 
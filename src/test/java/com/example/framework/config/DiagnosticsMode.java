@@ -0,0 +1,28 @@
+package com.example.framework.config;
+
+import java.util.Locale;
+
+/**
+ * Defines when sessions record video, trace and network diagnostics.
+ */
+public enum DiagnosticsMode {
+
+    /**
+     * Every session follows {@code video.enabled} and {@code trace.enabled}.
+     */
+    ALWAYS,
+
+    /**
+     * First attempt runs without diagnostics; a failing test is retried once in a fresh session with video, trace and HAR on.
+     */
+    ON_RETRY;
+
+    public static DiagnosticsMode fromValue(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "always", "" -> ALWAYS;
+            case "on-retry" -> ON_RETRY;
+            default -> throw new IllegalArgumentException("Unsupported diagnostics mode: " + value);
+        };
+    }
+}
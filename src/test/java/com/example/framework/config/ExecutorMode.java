@@ -0,0 +1,28 @@
+package com.example.framework.config;
+
+import java.util.Locale;
+
+/**
+ * Defines which threads execute the Playwright part of a test.
+ */
+public enum ExecutorMode {
+
+    /**
+     * Tests run directly on JUnit worker threads.
+     */
+    PLATFORM,
+
+    /**
+     * Each test is handed to a virtual thread that owns a browser slot; JUnit workers only wait for it.
+     */
+    VIRTUAL;
+
+    public static ExecutorMode fromValue(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "platform", "" -> PLATFORM;
+            case "virtual" -> VIRTUAL;
+            default -> throw new IllegalArgumentException("Unsupported executor mode: " + value);
+        };
+    }
+}
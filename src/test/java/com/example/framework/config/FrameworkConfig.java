@@ -2,27 +2,89 @@ package com.example.framework.config;
 
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Immutable view of the framework configuration.
  */
 public record FrameworkConfig(
         String baseUrl,
+        NavigationMode initialNavigation,
+        boolean fixtureEnabled,
+        int fixtureLatencyMs,
+        int fixtureResults,
         String browser,
+        List<String> browserMatrix,
         boolean headless,
         int slowMo,
         int timeoutMs,
+        int viewportWidth,
+        int viewportHeight,
+        String locale,
         boolean videoEnabled,
         Path videoDir,
         boolean traceEnabled,
         Path traceDir,
+        TraceLevel traceLevel,
+        int traceChunksKeep,
+        DiagnosticsMode diagnosticsMode,
+        Path stepLatencyReport,
+        Path stepLatencyBaseline,
+        int stepLatencyThresholdPct,
+        StepTimeoutMode stepTimeoutMode,
+        Path stepTimeoutHistoryFile,
+        int stepTimeoutFactorPct,
+        int stepTimeoutMinMs,
+        int stepTimeoutMaxMs,
+        int stepTimeoutMinSamples,
+        boolean vitalsEnabled,
+        Path vitalsReport,
+        Path durationHistoryFile,
+        int durationDefaultMs,
+        int shardIndex,
+        int shardTotal,
+        Path shardReportDir,
         Path screenshotsDir,
         Path downloadsDir,
-        int parallelism
+        int artifactsQueueCapacity,
+        int artifactsWriterThreads,
+        boolean artifactsCompress,
+        NetworkMode networkMode,
+        Path harDir,
+        boolean harStrict,
+        boolean assetCacheEnabled,
+        int assetCacheMaxMb,
+        String blockingProfile,
+        Map<String, BlockingProfile> blockingProfiles,
+        int parallelism,
+        int browserMemoryMb,
+        int browserSlots,
+        ExecutorMode executorMode,
+        IsolationLevel isolation,
+        int contextPoolSize,
+        boolean browserServerEnabled,
+        Path browserServerDir,
+        int browserServerStartTimeoutMs,
+        boolean watchdogEnabled,
+        int watchdogIdleTimeoutMs
 ) {
 
     public Duration timeout() {
         return Duration.ofMillis(timeoutMs);
     }
+
+    public BlockingProfile blockingProfile(String name) {
+        String effective = name == null || name.isBlank() ? blockingProfile : name;
+        BlockingProfile profile = blockingProfiles.get(effective);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown blocking profile '" + effective + "', known: " + blockingProfiles.keySet());
+        }
+        return profile;
+    }
+
+    public long assetCacheMaxBytes() {
+        return assetCacheMaxMb * 1024L * 1024L;
+    }
 }
 
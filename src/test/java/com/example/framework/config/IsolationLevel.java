@@ -0,0 +1,34 @@
+package com.example.framework.config;
+
+import java.util.Locale;
+
+/**
+ * Defines how long a Playwright driver and browser live before they are torn down.
+ */
+public enum IsolationLevel {
+
+    /**
+     * Fresh driver and browser for every test (slowest, strongest isolation).
+     */
+    PER_TEST,
+
+    /**
+     * Driver and browser are shared by tests of the same class running on the same worker thread.
+     */
+    PER_CLASS,
+
+    /**
+     * Driver and browser are kept per worker thread for the whole launcher session.
+     */
+    PER_WORKER;
+
+    public static IsolationLevel fromValue(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        return switch (normalized) {
+            case "per-test", "test" -> PER_TEST;
+            case "per-class", "class" -> PER_CLASS;
+            case "per-worker", "worker", "" -> PER_WORKER; // по умолчанию переиспользуем браузер в рамках потока
+            default -> throw new IllegalArgumentException("Unsupported isolation level: " + value);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.framework.config;
+
+import java.util.Locale;
+
+/**
+ * Defines when a fresh session loads its start page.
+ */
+public enum NavigationMode {
+
+    /**
+     * Start page is loaded in {@code beforeEach}, before the test body runs.
+     */
+    EAGER,
+
+    /**
+     * Start page is loaded by the first page-object action that needs a loaded page.
+     */
+    LAZY,
+
+    /**
+     * Session starts on {@code about:blank}; tests navigate themselves.
+     */
+    NONE;
+
+    public static NavigationMode fromValue(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "eager", "" -> EAGER;
+            case "lazy" -> LAZY;
+            case "none" -> NONE;
+            default -> throw new IllegalArgumentException("Unsupported initial navigation mode: " + value);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.framework.config;
+
+import java.util.Locale;
+
+/**
+ * Defines where browser traffic of a session comes from.
+ */
+public enum NetworkMode {
+
+    /**
+     * Requests go to the real network.
+     */
+    LIVE,
+
+    /**
+     * Requests go to the real network and are saved to a HAR archive per test.
+     */
+    RECORD,
+
+    /**
+     * Requests are served from the test's HAR archive; nothing reaches the network.
+     */
+    REPLAY;
+
+    public static NetworkMode fromValue(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "live", "" -> LIVE;
+            case "record" -> RECORD;
+            case "replay" -> REPLAY;
+            default -> throw new IllegalArgumentException("Unsupported network mode: " + value);
+        };
+    }
+}
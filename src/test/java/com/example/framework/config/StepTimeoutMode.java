@@ -0,0 +1,34 @@
+package com.example.framework.config;
+
+import java.util.Locale;
+
+/**
+ * Defines whether page-object steps learn and enforce their own timeouts from previous runs.
+ */
+public enum StepTimeoutMode {
+
+    /**
+     * Every step uses {@code timeoutMs}; step latencies are not kept between runs.
+     */
+    OFF,
+
+    /**
+     * Step latencies are kept in {@code step.timeout.history.file}, but every step still uses {@code timeoutMs}.
+     */
+    LEARN,
+
+    /**
+     * Steps with enough history run with their learned budget instead of {@code timeoutMs}.
+     */
+    ENFORCE;
+
+    public static StepTimeoutMode fromValue(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "learn", "" -> LEARN;
+            case "off" -> OFF;
+            case "enforce" -> ENFORCE;
+            default -> throw new IllegalArgumentException("Unsupported step timeout mode: " + value);
+        };
+    }
+}
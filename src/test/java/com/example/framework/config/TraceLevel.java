@@ -0,0 +1,34 @@
+package com.example.framework.config;
+
+import java.util.Locale;
+
+/**
+ * Defines how much detail a Playwright trace records.
+ */
+public enum TraceLevel {
+
+    /**
+     * No trace unless a diagnostics retry forces one.
+     */
+    OFF,
+
+    /**
+     * Actions with DOM snapshots only; no screencast frames or sources.
+     */
+    DOM_ONLY,
+
+    /**
+     * DOM snapshots, screencast frames and test sources.
+     */
+    FULL;
+
+    public static TraceLevel fromValue(String value) {
+        String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "full", "" -> FULL;
+            case "dom-only" -> DOM_ONLY;
+            case "off" -> OFF;
+            default -> throw new IllegalArgumentException("Unsupported trace level: " + value);
+        };
+    }
+}
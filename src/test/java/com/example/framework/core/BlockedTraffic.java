@@ -0,0 +1,19 @@
+package com.example.framework.core;
+
+import java.util.Map;
+
+/**
+ * Summary of requests a session aborted because of its blocking profile.
+ *
+ * @param profile        applied profile name
+ * @param requests       number of blocked requests
+ * @param estimatedBytes bytes not transferred, estimated from average sizes of allowed responses of the same type
+ * @param byType         blocked requests per resource type
+ */
+public record BlockedTraffic(String profile, long requests, long estimatedBytes, Map<String, Long> byType) {
+
+    public String describe() {
+        return "Blocking profile: %s%nBlocked requests: %d%nEstimated bytes saved: %d%nBy resource type: %s"
+                .formatted(profile, requests, estimatedBytes, byType);
+    }
+}
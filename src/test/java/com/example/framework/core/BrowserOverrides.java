@@ -0,0 +1,16 @@
+package com.example.framework.core;
+
+/**
+ * Per-test deviations from the configured browser and context shape; {@code null} components fall back to the configuration.
+ *
+ * @param engine         browser engine name, see {@link BrowserRegistry}
+ * @param viewportWidth  viewport width in CSS pixels
+ * @param viewportHeight viewport height in CSS pixels
+ * @param locale         BCP 47 locale tag
+ */
+public record BrowserOverrides(String engine, Integer viewportWidth, Integer viewportHeight, String locale) {
+
+    public static BrowserOverrides none() {
+        return new BrowserOverrides(null, null, null, null);
+    }
+}
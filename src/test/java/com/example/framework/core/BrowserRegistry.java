@@ -0,0 +1,247 @@
+package com.example.framework.core;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.config.IsolationLevel;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.BrowserType.LaunchOptions;
+import com.microsoft.playwright.Playwright;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps Playwright drivers and browsers alive between tests according to the configured {@link IsolationLevel}.
+ * A shared driver is confined to the worker thread that created it and hosts one browser per engine,
+ * so tests asking for different engines reuse browsers instead of relaunching them.
+ */
+public final class BrowserRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BrowserRegistry.class);
+    private static final String WORKER_SCOPE = "worker";
+    private static final ThreadLocal<SharedDriver> CURRENT = new ThreadLocal<>();
+    private static final Set<SharedDriver> SHARED = ConcurrentHashMap.newKeySet();
+
+    private BrowserRegistry() {
+    }
+
+    static Lease acquire(FrameworkConfig config, String scope, String engine) {
+        String effectiveEngine = engineName(engine == null || engine.isBlank() ? config.browser() : engine);
+        if (config.isolation() == IsolationLevel.PER_TEST) {
+            SharedDriver dedicated = new SharedDriver(scope); // отдельный драйвер и браузер только для этого теста
+            try {
+                return new Lease(dedicated, dedicated.browser(config, effectiveEngine), false);
+            } catch (RuntimeException e) {
+                dedicated.close();
+                throw e;
+            }
+        }
+
+        String ownerScope = config.isolation() == IsolationLevel.PER_CLASS ? scope : WORKER_SCOPE;
+        SharedDriver shared = CURRENT.get();
+        if (shared != null && shared.killed) {
+            LOG.info("Драйвер потока {} был остановлен сторожем сессий — создаём новый", Thread.currentThread().getName());
+            retire(shared);
+            shared = null;
+        }
+        if (shared != null && !shared.scope.equals(ownerScope)) {
+            LOG.info("Пересоздаём общий драйвер потока {}: область {} -> {}", Thread.currentThread().getName(), shared.scope, ownerScope);
+            retire(shared);
+            shared = null;
+        }
+        if (shared == null) {
+            shared = new SharedDriver(ownerScope);
+            CURRENT.set(shared); // драйвер принадлежит только текущему потоку
+            SHARED.add(shared);
+        }
+        return new Lease(shared, shared.browser(config, effectiveEngine), true);
+    }
+
+    /**
+     * Closes every shared driver and browser. Intended to be called once all tests have finished.
+     */
+    public static void shutdown() {
+        if (!SHARED.isEmpty()) {
+            LOG.info("Закрываем общие драйверы: {} шт.", SHARED.size());
+            for (SharedDriver shared : SHARED) {
+                retire(shared);
+            }
+            CURRENT.remove();
+        }
+        FrameworkConfig config = ConfigurationManager.configuration();
+        if (config.browserServerEnabled()) {
+            BrowserServers.release(config); // серверы останавливает последняя JVM прогона
+        }
+
+        ContextPoolStatistics.Snapshot stats = ContextPoolStatistics.snapshot();
+        LOG.info("Статистика пула контекстов: попадания={}, промахи={}, доля попаданий={}, среднее ожидание={} мс, максимум={} мс, подготовлено заранее={} за {} мс",
+                stats.hits(), stats.misses(), String.format(Locale.ROOT, "%.2f", stats.hitRatio()),
+                stats.averageWait().toMillis(), stats.maxWait().toMillis(), stats.prewarmed(), stats.prewarmTime().toMillis());
+        StaticAssetCache.logSummary();
+    }
+
+    private static void retire(SharedDriver shared) {
+        SHARED.remove(shared);
+        if (CURRENT.get() == shared) {
+            CURRENT.remove();
+        }
+        shared.close();
+    }
+
+    /**
+     * Canonical engine name ({@code chromium}, {@code firefox} or {@code webkit}) used as the browser cache key.
+     */
+    public static String engineName(String browserName) {
+        String normalized = browserName == null ? "" : browserName.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "chromium", "", "chrome" -> "chromium"; // default: chromium, если ничего не указано
+            case "firefox", "webkit" -> normalized;
+            default -> throw new IllegalArgumentException("Unsupported browser type: " + browserName);
+        };
+    }
+
+    static BrowserType selectBrowser(Playwright playwright, String browserName) {
+        String engine = engineName(browserName);
+        LOG.info("Выбираем тип браузера: запрос='{}'", browserName == null || browserName.isBlank() ? "chromium (по умолчанию)" : engine);
+        return switch (engine) {
+            case "firefox" -> playwright.firefox(); // стандартное соответствие названию браузера
+            case "webkit" -> playwright.webkit();
+            default -> playwright.chromium();
+        };
+    }
+
+    /**
+     * Driver and browser handed out to a single session; shared instances survive {@link #release()}.
+     */
+    record Lease(SharedDriver driver, SharedBrowser owner, boolean shared) {
+
+        Playwright playwright() {
+            return driver.playwright;
+        }
+
+        Browser browser() {
+            return owner.browser;
+        }
+
+        String engine() {
+            return owner.engine;
+        }
+
+        /**
+         * Terminates the driver process of this lease, unblocking every call stuck in it. Safe to call from another thread.
+         */
+        void kill() {
+            driver.kill();
+        }
+
+        ContextPool.PooledContext acquireContext(ContextSpec spec, boolean pooled) {
+            return owner.pool.acquire(spec, pooled);
+        }
+
+        void release() {
+            if (!shared) {
+                driver.close(); // при изоляции per-test драйвер и браузер живут ровно одну сессию
+                return;
+            }
+            try {
+                owner.pool.replenish(); // готовим контексты для следующего теста, пока поток свободен
+            } catch (RuntimeException e) {
+                LOG.warn("Не удалось пополнить пул контекстов {} области {}: {}", owner.engine, driver.scope, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One Playwright driver process and the browsers launched through it, keyed by engine.
+     */
+    static final class SharedDriver {
+
+        private final String scope;
+        private final Playwright playwright;
+        private final Map<String, SharedBrowser> browsers = new LinkedHashMap<>();
+        private volatile boolean killed;
+
+        private SharedDriver(String scope) {
+            this.scope = scope;
+            this.playwright = Playwright.create(); // создаём основной Playwright-движок
+        }
+
+        private SharedBrowser browser(FrameworkConfig config, String engine) {
+            SharedBrowser existing = browsers.get(engine);
+            if (existing != null && existing.browser.isConnected()) {
+                return existing;
+            }
+            if (existing != null) {
+                LOG.info("Браузер {} области {} отключился — запускаем заново", engine, scope);
+                existing.close();
+            }
+            SharedBrowser launched = SharedBrowser.launch(playwright, config, scope, engine);
+            browsers.put(engine, launched);
+            return launched;
+        }
+
+        private void kill() {
+            killed = true; // поток-владелец пересоздаст драйвер при следующем запросе
+            playwright.close(); // закрывает канал и процесс драйвера вместе с его браузерами
+            LOG.warn("Драйвер области {} остановлен принудительно", scope);
+        }
+
+        private void close() {
+            if (killed) {
+                browsers.clear();
+                return; // драйвер уже остановлен сторожем сессий
+            }
+            try {
+                browsers.values().forEach(SharedBrowser::close);
+                browsers.clear();
+            } finally {
+                playwright.close();
+                LOG.info("Драйвер области {} закрыт", scope);
+            }
+        }
+    }
+
+    static final class SharedBrowser {
+
+        private final String engine;
+        private final Browser browser;
+        private final ContextPool pool;
+
+        private SharedBrowser(String engine, Browser browser, int poolSize) {
+            this.engine = engine;
+            this.browser = browser;
+            this.pool = new ContextPool(browser, poolSize);
+        }
+
+        private static SharedBrowser launch(Playwright playwright, FrameworkConfig config, String scope, String engine) {
+            BrowserType type = selectBrowser(playwright, engine);
+            Optional<Browser> remote = config.browserServerEnabled()
+                    ? BrowserServers.connect(type, config, engine) // общий для всех форков браузер, здесь создаются только контексты
+                    : Optional.empty();
+            Browser browser = remote.orElseGet(() -> type.launch(new LaunchOptions()
+                    .setHeadless(config.headless()) // управляем режимом headless через конфиг
+                    .setSlowMo(config.slowMo()))); // замедление действий удобно при отладке
+            LOG.info("Браузер {} для области {} {} в потоке {} в режиме {} (замедление={} мс, изоляция={})",
+                    engine, scope, remote.isPresent() ? "подключён к серверу" : "запущен", Thread.currentThread().getName(),
+                    config.headless() ? "без интерфейса" : "с интерфейсом", config.slowMo(), config.isolation());
+            int poolSize = config.isolation() == IsolationLevel.PER_TEST ? 0 : config.contextPoolSize(); // выделенному браузеру пул не нужен
+            return new SharedBrowser(engine, browser, poolSize);
+        }
+
+        private void close() {
+            try {
+                pool.close();
+                browser.close();
+            } catch (RuntimeException e) {
+                LOG.warn("Не удалось корректно закрыть браузер {}: {}", engine, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.framework.core;
+
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.support.FileLocks;
+import com.example.framework.core.support.FileSystemSupport;
+import com.google.gson.Gson;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.impl.driver.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Browser servers on localhost shared by every JVM of a run (typically surefire forks).
+ * The first JVM that needs an engine starts the {@code launch-server} command of the bundled Playwright driver
+ * under a file lock in {@code browser.server.folder}; the other JVMs find the endpoint there, check it and connect.
+ * The last JVM to finish stops the servers.
+ */
+final class BrowserServers {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BrowserServers.class);
+    private static final Gson GSON = new Gson();
+    private static final String LOCAL_HOST = "127.0.0.1";
+    private static final String ENDPOINT_SUFFIX = ".endpoint";
+    private static final String LOCK_FILE = "servers.lock";
+    private static final String CLIENTS_DIR = "clients";
+    private static final int HEALTH_CHECK_TIMEOUT_MS = 1_000;
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean();
+
+    private BrowserServers() {
+    }
+
+    /**
+     * Connects to the shared server of {@code engine}, starting it if needed; empty when the server cannot be used.
+     */
+    static Optional<Browser> connect(BrowserType type, FrameworkConfig config, String engine) {
+        try {
+            String endpoint = endpoint(config, engine);
+            Browser browser = type.connect(endpoint, new BrowserType.ConnectOptions()
+                    .setSlowMo(config.slowMo())
+                    .setTimeout(config.browserServerStartTimeoutMs()));
+            LOG.info("Поток {} подключился к серверу браузера {} по адресу {}", Thread.currentThread().getName(), engine, endpoint);
+            return Optional.of(browser);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Сервер браузера {} недоступен ({}), запускаем браузер локально", engine, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Unregisters this JVM and stops the servers once no other live JVM uses them.
+     */
+    static void release(FrameworkConfig config) {
+        if (!REGISTERED.compareAndSet(true, false)) {
+            return;
+        }
+        Path dir = config.browserServerDir();
+        try {
+            FileLocks.call(dir.resolve(LOCK_FILE), () -> {
+                Path clients = dir.resolve(CLIENTS_DIR);
+                Files.deleteIfExists(clients.resolve(Long.toString(ProcessHandle.current().pid())));
+                try (Stream<Path> files = Files.list(clients)) {
+                    List<Path> alive = files.filter(file -> isAlive(file.getFileName().toString())).toList();
+                    if (!alive.isEmpty()) {
+                        LOG.info("Серверы браузеров оставляем работать: ими пользуются ещё {} JVM", alive.size());
+                        return null;
+                    }
+                }
+                try (Stream<Path> files = Files.list(dir)) {
+                    for (Path file : files.filter(path -> path.getFileName().toString().endsWith(ENDPOINT_SUFFIX)).toList()) {
+                        ServerInfo.read(file).ifPresent(ServerInfo::stop);
+                        Files.deleteIfExists(file);
+                    }
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            LOG.warn("Не удалось корректно остановить серверы браузеров: {}", e.getMessage());
+        }
+    }
+
+    private static String endpoint(FrameworkConfig config, String engine) throws IOException {
+        Path dir = config.browserServerDir();
+        Path endpointFile = dir.resolve(engine + ENDPOINT_SUFFIX);
+        return FileLocks.call(dir.resolve(LOCK_FILE), () -> { // форки ждут друг друга, пока один из них запускает сервер
+            registerClient(dir);
+            Optional<ServerInfo> existing = ServerInfo.read(endpointFile);
+            if (existing.isPresent() && existing.get().healthy()) {
+                return existing.get().endpoint();
+            }
+            existing.ifPresent(stale -> {
+                LOG.warn("Сервер браузера {} (pid {}) не отвечает — перезапускаем", engine, stale.pid());
+                stale.stop();
+            });
+            ServerInfo started = launch(config, engine);
+            started.write(endpointFile);
+            return started.endpoint();
+        });
+    }
+
+    private static ServerInfo launch(FrameworkConfig config, String engine) throws IOException {
+        Path dir = config.browserServerDir();
+        Path options = dir.resolve(engine + "-options.json");
+        Files.writeString(options, GSON.toJson(Map.of("headless", config.headless(), "host", LOCAL_HOST))); // сервер слушает только localhost
+        Path log = dir.resolve(engine + "-server.log");
+        Files.deleteIfExists(log);
+
+        ProcessBuilder builder = Driver.ensureDriverInstalled(Map.of(), false).createProcessBuilder();
+        builder.command().addAll(List.of("launch-server", "--browser", engine, "--config", options.toString()));
+        builder.redirectErrorStream(true).redirectOutput(log.toFile()); // адрес сервера читаем из файла, чтобы не держать открытый pipe
+        Process process = builder.start();
+        LOG.info("Запускаем сервер браузера {} (pid {})", engine, process.pid());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.browserServerStartTimeoutMs());
+        while (System.nanoTime() < deadline) {
+            Optional<String> endpoint = Files.readAllLines(log).stream()
+                    .map(String::trim)
+                    .filter(line -> line.startsWith("ws://"))
+                    .findFirst();
+            if (endpoint.isPresent()) {
+                LOG.info("Сервер браузера {} готов: {}", engine, endpoint.get());
+                return new ServerInfo(endpoint.get(), process.pid());
+            }
+            if (!process.isAlive()) {
+                throw new IOException("Browser server for " + engine + " exited with code " + process.exitValue() + ", see " + log);
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        process.destroy();
+        throw new IOException("Browser server for " + engine + " did not report an endpoint within " + config.browserServerStartTimeoutMs() + " ms");
+    }
+
+    private static void registerClient(Path dir) throws IOException {
+        if (REGISTERED.compareAndSet(false, true)) {
+            Path clients = dir.resolve(CLIENTS_DIR);
+            FileSystemSupport.ensureDirectory(clients);
+            Files.writeString(clients.resolve(Long.toString(ProcessHandle.current().pid())), ""); // последний клиент останавливает серверы
+        }
+    }
+
+    private static boolean isAlive(String pid) {
+        try {
+            return ProcessHandle.of(Long.parseLong(pid)).map(ProcessHandle::isAlive).orElse(false);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private record ServerInfo(String endpoint, long pid) {
+
+        static Optional<ServerInfo> read(Path file) throws IOException {
+            if (!Files.exists(file)) {
+                return Optional.empty();
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+            String endpoint = properties.getProperty("endpoint");
+            String pid = properties.getProperty("pid");
+            if (endpoint == null || pid == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new ServerInfo(endpoint, Long.parseLong(pid)));
+        }
+
+        void write(Path file) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("endpoint", endpoint);
+            properties.setProperty("pid", Long.toString(pid));
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                properties.store(writer, "Playwright browser server");
+            }
+        }
+
+        boolean healthy() {
+            if (!isAlive(Long.toString(pid))) {
+                return false;
+            }
+            URI uri = URI.create(endpoint);
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), HEALTH_CHECK_TIMEOUT_MS); // порт принимает соединения
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        void stop() {
+            ProcessHandle.of(pid).ifPresent(process -> {
+                process.descendants().forEach(ProcessHandle::destroy); // сами браузеры — дочерние процессы драйвера
+                process.destroy();
+                LOG.info("Сервер браузера {} (pid {}) остановлен", endpoint, pid);
+            });
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.framework.core;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.ExecutorMode;
+import com.example.framework.config.FrameworkConfig;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Limits how many browser sessions are open at the same time.
+ * In {@link ExecutorMode#VIRTUAL} mode every slot is backed by a long-lived virtual thread that owns
+ * its Playwright objects, so a test borrowing the slot runs all browser work on that thread.
+ */
+public final class BrowserSlots {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BrowserSlots.class);
+    private static final FrameworkConfig CONFIG = ConfigurationManager.configuration();
+    private static final int CAPACITY = CONFIG.browserSlots() > 0 ? CONFIG.browserSlots() : recommendedBrowsers(CONFIG);
+    private static final Semaphore PERMITS = new Semaphore(CAPACITY, true);
+    private static final Deque<SlotThread> IDLE = new ConcurrentLinkedDeque<>();
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    private BrowserSlots() {
+    }
+
+    /**
+     * Number of browsers the host can afford: bounded by the configured ceiling, cores and free memory.
+     */
+    public static int recommendedBrowsers(FrameworkConfig config) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int ceiling = config.parallelism() > 0 ? config.parallelism() : cores; // 0 или меньше — ограничиваемся числом ядер
+        long freeMemoryMb = freePhysicalMemoryMb();
+        int memoryBound = freeMemoryMb < 0 || config.browserMemoryMb() <= 0
+                ? Integer.MAX_VALUE
+                : (int) Math.max(1, freeMemoryMb / config.browserMemoryMb()); // сколько браузеров поместится в свободную память
+        return Math.max(1, Math.min(ceiling, Math.min(cores, memoryBound)));
+    }
+
+    public static long freePhysicalMemoryMb() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getFreeMemorySize() / (1024 * 1024); // браузеры живут вне кучи JVM, поэтому смотрим на память ОС
+        }
+        return -1;
+    }
+
+    public static int capacity() {
+        return CAPACITY;
+    }
+
+    /**
+     * Blocks until a browser slot is free.
+     */
+    public static Slot acquire(String testId) {
+        long started = System.nanoTime();
+        try {
+            PERMITS.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser slot for " + testId, e);
+        }
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        SlotThread thread = null;
+        if (CONFIG.executorMode() == ExecutorMode.VIRTUAL) {
+            thread = IDLE.pollFirst();
+            if (thread == null) {
+                thread = new SlotThread(CREATED.incrementAndGet()); // виртуальные потоки создаём лениво, не больше числа слотов
+            }
+        }
+        LOG.info("Слот браузера получен для {} за {} мс (свободно={} из {}, режим={})",
+                testId, waitedMs, PERMITS.availablePermits(), CAPACITY, CONFIG.executorMode());
+        return new Slot(testId, thread);
+    }
+
+    /**
+     * Stops idle slot threads. Intended to be called once all tests have finished.
+     */
+    public static void shutdown() {
+        SlotThread thread;
+        while ((thread = IDLE.pollFirst()) != null) {
+            thread.executor.shutdown();
+        }
+    }
+
+    /**
+     * Permit held by a single test; all browser work of the test goes through {@link #call(ThrowingSupplier)}.
+     */
+    public static final class Slot {
+
+        private final String testId;
+        private final SlotThread thread;
+        private boolean released;
+
+        private Slot(String testId, SlotThread thread) {
+            this.testId = testId;
+            this.thread = thread;
+        }
+
+        public <T> T call(ThrowingSupplier<T> action) throws Throwable {
+            if (thread == null) {
+                return action.get(); // платформенный режим: выполняем на текущем потоке JUnit
+            }
+            Optional<String> testCase = Allure.getLifecycle().getCurrentTestCase(); // Allure хранит текущий тест в ThreadLocal
+            Future<T> future = thread.executor.submit(() -> {
+                testCase.ifPresent(uuid -> Allure.getLifecycle().setCurrentTestCase(uuid)); // шаги и вложения попадут в нужный тест
+                try {
+                    return action.get();
+                } catch (Throwable t) {
+                    throw new SlotFailure(t); // переносим любое исключение, включая ошибки assert'ов
+                }
+            });
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof SlotFailure failure ? failure.getCause() : cause;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                throw e;
+            }
+        }
+
+        public <T> T supply(Supplier<T> action) {
+            try {
+                return call(action::get);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Browser slot action failed for " + testId, t);
+            }
+        }
+
+        public void run(Runnable action) {
+            supply(() -> {
+                action.run();
+                return null;
+            });
+        }
+
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (thread != null) {
+                IDLE.offerFirst(thread); // поток и его браузер пригодятся следующему тесту
+            }
+            PERMITS.release();
+            LOG.info("Слот браузера освобождён тестом {}", testId);
+        }
+    }
+
+    private static final class SlotThread {
+
+        private final ExecutorService executor;
+
+        private SlotThread(int index) {
+            this.executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("browser-slot-" + index).factory());
+        }
+    }
+
+    private static final class SlotFailure extends RuntimeException {
+
+        private SlotFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
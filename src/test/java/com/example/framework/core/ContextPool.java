@@ -0,0 +1,99 @@
+package com.example.framework.core;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded pool of pre-built contexts and pages for one browser, keyed by {@link ContextSpec}.
+ * Confined to the worker thread that owns the browser, so it needs no synchronisation.
+ */
+final class ContextPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContextPool.class);
+    private static final int MAX_SPECS = 4;
+
+    private final Browser browser;
+    private final int capacity;
+    private final Map<ContextSpec, Deque<PooledContext>> idle = new LinkedHashMap<>(MAX_SPECS, 0.75f, true);
+
+    ContextPool(Browser browser, int capacity) {
+        this.browser = browser;
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Takes a ready context for {@code spec}; only a {@code pooled} spec is remembered and topped up by {@link #replenish()}.
+     */
+    PooledContext acquire(ContextSpec spec, boolean pooled) {
+        long started = System.nanoTime();
+        Deque<PooledContext> ready = pooled ? idle.computeIfAbsent(spec, key -> new ArrayDeque<>()) : idle.get(spec);
+        evictColdSpecs();
+        PooledContext context = ready == null ? null : ready.pollFirst();
+        boolean hit = context != null;
+        if (!hit) {
+            context = PooledContext.create(browser, spec); // пул пуст — создаём контекст прямо на критическом пути
+        }
+        ContextPoolStatistics.recordAcquire(hit, System.nanoTime() - started);
+        return context;
+    }
+
+    /**
+     * Tops up every recently used spec to the pool capacity. Called by the owning worker between tests.
+     */
+    void replenish() {
+        if (capacity == 0 || !browser.isConnected()) {
+            return;
+        }
+        for (Map.Entry<ContextSpec, Deque<PooledContext>> entry : idle.entrySet()) {
+            Deque<PooledContext> ready = entry.getValue();
+            while (ready.size() < capacity) {
+                long started = System.nanoTime();
+                ready.addLast(PooledContext.create(browser, entry.getKey()));
+                ContextPoolStatistics.recordPrewarm(System.nanoTime() - started);
+            }
+        }
+    }
+
+    void close() {
+        for (Deque<PooledContext> ready : idle.values()) {
+            ready.forEach(PooledContext::discard);
+            ready.clear();
+        }
+        idle.clear();
+    }
+
+    private void evictColdSpecs() {
+        Iterator<Map.Entry<ContextSpec, Deque<PooledContext>>> iterator = idle.entrySet().iterator();
+        while (idle.size() > MAX_SPECS && iterator.hasNext()) {
+            Map.Entry<ContextSpec, Deque<PooledContext>> coldest = iterator.next(); // порядок доступа: первым идёт самый давний
+            LOG.info("Удаляем из пула {} контекст(ов) для редко используемых опций {}", coldest.getValue().size(), coldest.getKey());
+            coldest.getValue().forEach(PooledContext::discard);
+            iterator.remove();
+        }
+    }
+
+    record PooledContext(BrowserContext context, Page page) {
+
+        private static PooledContext create(Browser browser, ContextSpec spec) {
+            BrowserContext context = browser.newContext(spec.toOptions()); // изолированный контекст на каждый тест
+            return new PooledContext(context, context.newPage()); // сразу открываем вкладку, чтобы использовать её дальше
+        }
+
+        private void discard() {
+            try {
+                context.close();
+            } catch (RuntimeException e) {
+                LOG.warn("Не удалось закрыть контекст из пула: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.framework.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters describing how well the context pool serves sessions.
+ */
+public final class ContextPoolStatistics {
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder WAIT_NANOS = new LongAdder();
+    private static final AtomicLong MAX_WAIT_NANOS = new AtomicLong();
+    private static final LongAdder PREWARMED = new LongAdder();
+    private static final LongAdder PREWARM_NANOS = new LongAdder();
+
+    private ContextPoolStatistics() {
+    }
+
+    static void recordAcquire(boolean hit, long waitNanos) {
+        (hit ? HITS : MISSES).increment();
+        WAIT_NANOS.add(waitNanos);
+        MAX_WAIT_NANOS.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    static void recordPrewarm(long nanos) {
+        PREWARMED.increment();
+        PREWARM_NANOS.add(nanos);
+    }
+
+    public static Snapshot snapshot() {
+        return new Snapshot(
+                HITS.sum(),
+                MISSES.sum(),
+                Duration.ofNanos(WAIT_NANOS.sum()),
+                Duration.ofNanos(MAX_WAIT_NANOS.get()),
+                PREWARMED.sum(),
+                Duration.ofNanos(PREWARM_NANOS.sum())
+        );
+    }
+
+    /**
+     * Immutable view of the pool counters at a point in time.
+     */
+    public record Snapshot(long hits,
+                           long misses,
+                           Duration totalWait,
+                           Duration maxWait,
+                           long prewarmed,
+                           Duration prewarmTime) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        public Duration averageWait() {
+            long total = hits + misses;
+            return total == 0 ? Duration.ZERO : totalWait.dividedBy(total);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.framework.core;
+
+import com.example.framework.config.FrameworkConfig;
+import com.microsoft.playwright.Browser.NewContextOptions;
+
+import java.nio.file.Path;
+
+/**
+ * Value description of the {@link NewContextOptions} a context is built with; used as a pool key.
+ */
+record ContextSpec(String baseUrl,
+                   int viewportWidth,
+                   int viewportHeight,
+                   String locale,
+                   Path videoDir) {
+
+    static ContextSpec from(FrameworkConfig config, BrowserOverrides overrides, Diagnostics diagnostics) {
+        return new ContextSpec(
+                config.baseUrl(),
+                overrides.viewportWidth() != null ? overrides.viewportWidth() : config.viewportWidth(), // аннотация теста важнее конфига
+                overrides.viewportHeight() != null ? overrides.viewportHeight() : config.viewportHeight(),
+                overrides.locale() != null ? overrides.locale() : config.locale(),
+                diagnostics.video() ? config.videoDir() : null
+        );
+    }
+
+    NewContextOptions toOptions() {
+        NewContextOptions options = new NewContextOptions()
+                .setBaseURL(baseUrl) // чтобы `page.navigate()` мог использовать относительные пути
+                .setViewportSize(viewportWidth, viewportHeight)
+                .setAcceptDownloads(true) // разрешаем скачивания, иначе Playwright будет блокировать
+                .setLocale(locale)
+                .setIgnoreHTTPSErrors(true); // избегаем падений на self-signed сертификатах
+
+        if (videoDir != null) {
+            options.setRecordVideoDir(videoDir); // включаем запись видео в папку из конфига
+            options.setRecordVideoSize(viewportWidth, viewportHeight); // размер ролика совпадает с viewport
+        }
+        return options;
+    }
+}
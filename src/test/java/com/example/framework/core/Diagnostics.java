@@ -0,0 +1,26 @@
+package com.example.framework.core;
+
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.config.TraceLevel;
+
+/**
+ * Heavyweight diagnostics a single session records.
+ *
+ * @param video record a screencast of the page
+ * @param trace record a Playwright trace
+ * @param har   capture network traffic into a HAR file next to the traces
+ */
+public record Diagnostics(boolean video, boolean trace, boolean har) {
+
+    public static Diagnostics none() {
+        return new Diagnostics(false, false, false);
+    }
+
+    public static Diagnostics full() {
+        return new Diagnostics(true, true, true);
+    }
+
+    public static Diagnostics configured(FrameworkConfig config) {
+        return new Diagnostics(config.videoEnabled(), config.traceEnabled() && config.traceLevel() != TraceLevel.OFF, false);
+    }
+}
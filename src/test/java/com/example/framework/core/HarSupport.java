@@ -0,0 +1,78 @@
+package com.example.framework.core;
+
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.config.NetworkMode;
+import com.example.framework.core.support.FileSystemSupport;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wires a context to HAR archives according to the configured {@link NetworkMode}.
+ */
+final class HarSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HarSupport.class);
+
+    private HarSupport() {
+    }
+
+    static Path archivePath(FrameworkConfig config, String testId) {
+        return FileSystemSupport.buildArtifactPath(config.harDir(), testId, ".har"); // архив привязан к идентификатору теста
+    }
+
+    /**
+     * Applies the network mode to the context and returns a live list of requests missing from the archive.
+     */
+    static List<String> apply(BrowserContext context, FrameworkConfig config, String testId) {
+        List<String> missed = new CopyOnWriteArrayList<>();
+        Path archive = archivePath(config, testId);
+        switch (config.networkMode()) {
+            case LIVE -> {
+                return missed;
+            }
+            case RECORD -> {
+                LOG.info("Записываем сетевой трафик {} в {}", testId, archive);
+                context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                        .setUpdate(true) // Playwright допишет архив при закрытии контекста
+                        .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED) // тела ответов внутри одного файла
+                        .setUpdateMode(HarMode.MINIMAL));
+            }
+            case REPLAY -> {
+                if (!Files.isRegularFile(archive)) {
+                    throw new IllegalStateException("HAR archive for test " + testId + " not found at " + archive
+                            + "; run the test once with network.mode=record");
+                }
+                LOG.info("Воспроизводим сетевой трафик {} из {}", testId, archive);
+                context.route("**/*", route -> { // зарегистрирован первым — срабатывает последним, после архива
+                    missed.add(route.request().method() + " " + route.request().url());
+                    route.abort(); // в сеть не ходим
+                });
+                context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                        .setNotFound(HarNotFound.FALLBACK)); // чего нет в архиве — отдаём правилу выше; заблокированные профилем запросы сюда не доходят
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * Records the session's live traffic into a diagnostic HAR next to the traces; written when the context closes.
+     */
+    static Path captureDiagnostics(BrowserContext context, FrameworkConfig config, String testId) {
+        Path archive = FileSystemSupport.buildArtifactPath(config.traceDir(), testId + "-network", ".har");
+        LOG.info("Сохраняем сетевой трафик {} для диагностики в {}", testId, archive);
+        context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                .setUpdate(true)
+                .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED)
+                .setUpdateMode(HarMode.FULL)); // для разбора падения нужны тайминги и заголовки
+        return archive;
+    }
+}
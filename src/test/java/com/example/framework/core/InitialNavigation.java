@@ -0,0 +1,53 @@
+package com.example.framework.core;
+
+import com.example.framework.core.metrics.NavigationMetrics;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitUntilState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks start pages deferred by the lazy navigation mode until a page object actually needs them.
+ */
+public final class InitialNavigation {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InitialNavigation.class);
+    private static final SessionState.Key<String> PENDING = new SessionState.Key<>("deferred start page");
+
+    private InitialNavigation() {
+    }
+
+    /**
+     * Opens the start page; its navigation metrics are collected like those of {@code BasePage.navigateTo}.
+     */
+    public static void navigate(Page page, String url) {
+        page.navigate(url, new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
+        NavigationMetrics.collect(page); // стартовая страница — часто единственная навигация теста
+    }
+
+    public static void defer(Page page, String url) {
+        SessionState.of(page).put(PENDING, url);
+        LOG.info("Начальная навигация на {} отложена до первого действия со страницей", url);
+    }
+
+    /**
+     * Loads the deferred start page, if any; page objects call this before touching the DOM.
+     */
+    public static void ensureLoaded(Page page) {
+        String url = SessionState.find(page).map(state -> state.remove(PENDING)).orElse(null);
+        if (url != null) {
+            LOG.info("Выполняем отложенную начальную навигацию на {}", url);
+            navigate(page, url);
+        }
+    }
+
+    /**
+     * Drops the deferred start page because the caller is about to navigate somewhere else.
+     */
+    public static void cancel(Page page) {
+        String url = SessionState.find(page).map(state -> state.remove(PENDING)).orElse(null);
+        if (url != null) {
+            LOG.info("Отложенная навигация на {} не понадобилась", url);
+        }
+    }
+}
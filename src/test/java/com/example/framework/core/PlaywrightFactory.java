@@ -1,17 +1,16 @@
 package com.example.framework.core;
 
+import com.example.framework.config.BlockingProfile;
 import com.example.framework.config.ConfigurationManager;
 import com.example.framework.config.FrameworkConfig;
+import com.example.framework.config.NetworkMode;
 import com.example.framework.core.support.FileSystemSupport;
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserType;
-import com.microsoft.playwright.BrowserType.LaunchOptions;
-import com.microsoft.playwright.Browser.NewContextOptions;
-import com.microsoft.playwright.Playwright;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Locale;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Builds configured Playwright sessions for tests.
@@ -19,79 +18,92 @@ import java.util.Locale;
 public final class PlaywrightFactory {
 
     private static final Logger LOG = LoggerFactory.getLogger(PlaywrightFactory.class);
+    private static final AtomicBoolean VIDEO_POOLING_WARNED = new AtomicBoolean();
 
     private PlaywrightFactory() {
     }
 
     public static PlaywrightSession newSession(String testId) {
+        return newSession(testId, testId);
+    }
+
+    /**
+     * Creates a session whose browser is reused within {@code scope} when isolation level allows it.
+     */
+    public static PlaywrightSession newSession(String testId, String scope) {
+        return newSession(testId, SessionOptions.defaults(scope));
+    }
+
+    /**
+     * Creates a session shaped by per-test {@link SessionOptions}.
+     */
+    public static PlaywrightSession newSession(String testId, SessionOptions options) {
         FrameworkConfig config = ConfigurationManager.configuration(); // берём все параметры запуска тестов
 
-        LOG.info("Создаем Playwright-сессию {}: браузер={}, headless={}, задержка={} мс, таймаут={} мс",
-                testId, config.browser(), config.headless(), config.slowMo(), config.timeoutMs());
+        BrowserOverrides overrides = options.overrides() == null ? BrowserOverrides.none() : options.overrides();
+        String engine = overrides.engine() != null ? overrides.engine() : config.browser();
+        LOG.info("Создаем Playwright-сессию {}: браузер={}, headless={}, задержка={} мс, таймаут={} мс, изоляция={}",
+                testId, engine, config.headless(), config.slowMo(), config.timeoutMs(), config.isolation());
 
         FileSystemSupport.ensureDirectory(config.videoDir()); // гарантируем, что папка для видео существует
         FileSystemSupport.ensureDirectory(config.traceDir()); // то же для трейсов
         FileSystemSupport.ensureDirectory(config.screenshotsDir()); // и для скриншотов
         FileSystemSupport.ensureDirectory(config.downloadsDir()); // и для загрузок
 
-        Playwright playwright = Playwright.create(); // создаём основной Playwright-движок
-        Browser browser = selectBrowser(playwright, config.browser())
-                .launch(new LaunchOptions()
-                        .setHeadless(config.headless()) // управляем режимом headless через конфиг
-                        .setSlowMo(config.slowMo())); // замедление действий удобно при отладке
-
-        LOG.info("Браузер для сессии {} запущен в режиме {} (замедление={} мс)", testId,
-                config.headless() ? "без интерфейса" : "с интерфейсом", config.slowMo());
-
-        NewContextOptions contextOptions = new NewContextOptions()
-                .setBaseURL(config.baseUrl()) // чтобы `page.navigate()` мог использовать относительные пути
-                .setViewportSize(1280, 720) // фиксируем типичный размер окна
-                .setAcceptDownloads(true) // разрешаем скачивания, иначе Playwright будет блокировать
-                .setLocale(Locale.getDefault().toLanguageTag()) // используем текущую локаль машины
-                .setIgnoreHTTPSErrors(true); // избегаем падений на self-signed сертификатах
-
-        if (config.videoEnabled()) {
-            contextOptions.setRecordVideoDir(config.videoDir()); // включаем запись видео в папку из конфига
-            contextOptions.setRecordVideoSize(1280, 720); // размер ролика совпадает с viewport
-        }
+        Diagnostics diagnostics = options.diagnostics() == null ? Diagnostics.configured(config) : options.diagnostics();
+        BlockingProfile blockingProfile = config.blockingProfile(options.blockingProfile()); // неизвестный профиль — ошибка до запуска браузера
+        BrowserRegistry.Lease lease = BrowserRegistry.acquire(config, options.scope(), engine); // драйвер и браузер переиспользуются согласно уровню изоляции
 
-        Browser.NewContextOptions finalOptions = contextOptions;
-        BrowserContextPair contextPair = BrowserContextPair.create(browser, finalOptions); // обёртка возвращает контекст и страницу
+        ContextSpec spec = ContextSpec.from(config, overrides, diagnostics); // ключ пула: опции, с которыми строится контекст
+        boolean pooled = !diagnostics.video(); // контекст с видео пишет ролик с момента создания — заготовка в пуле записала бы простой и осиротевшие файлы
+        if (!pooled && config.contextPoolSize() > 0 && VIDEO_POOLING_WARNED.compareAndSet(false, true)) {
+            LOG.warn("Видео включено — контексты с записью не берутся из пула (context.pool.size={} действует только для сессий без видео)", config.contextPoolSize());
+        }
+        ContextPool.PooledContext contextPair;
+        try {
+            contextPair = lease.acquireContext(spec, pooled); // готовый контекст и вкладка из пула, либо создаём на месте
+        } catch (RuntimeException e) {
+            lease.release(); // не оставляем выделенный браузер без владельца
+            throw e;
+        }
 
-        contextPair.context.setDefaultTimeout(config.timeoutMs()); // единый таймаут для всех действий
-        contextPair.page.setDefaultTimeout(config.timeoutMs());
+        contextPair.context().setDefaultTimeout(config.timeoutMs()); // единый таймаут для всех действий
+        contextPair.page().setDefaultTimeout(config.timeoutMs());
+        List<String> missedHarRequests;
+        ResourceBlocker.Stats blockingStats;
+        Path diagnosticHar = null;
+        try {
+            String harId = options.harId() == null ? testId : options.harId(); // повтор теста читает архив исходного запуска
+            missedHarRequests = HarSupport.apply(contextPair.context(), config, harId); // live / record / replay
+            if (diagnostics.har() && config.networkMode() == NetworkMode.LIVE) {
+                diagnosticHar = HarSupport.captureDiagnostics(contextPair.context(), config, testId); // в record/replay архив уже есть
+            }
+            if (config.assetCacheEnabled() && config.networkMode() == NetworkMode.LIVE) {
+                StaticAssetCache.install(contextPair.context(), config.assetCacheMaxBytes()); // общий кэш статики между контекстами
+            }
+            blockingStats = ResourceBlocker.install(contextPair.context(), blockingProfile); // регистрируем последним, чтобы правило срабатывало первым
+        } catch (RuntimeException e) {
+            contextPair.context().close();
+            lease.release();
+            throw e;
+        }
 
-        LOG.info("Playwright-сессия {} инициализирована: baseUrl={}, видео включено={}, трейс включен={}",
-                testId, config.baseUrl(), config.videoEnabled(), config.traceEnabled());
+        LOG.info("Playwright-сессия {} инициализирована: baseUrl={}, видео={}, трейс={}, HAR={}, сеть={}, профиль блокировки={}",
+                testId, config.baseUrl(), diagnostics.video(), diagnostics.trace(), diagnosticHar != null, config.networkMode(), blockingProfile.name());
 
-        return new PlaywrightSession(
+        PlaywrightSession session = new PlaywrightSession(
                 testId,
                 config,
-                playwright,
-                browser,
-                contextPair.context,
-                contextPair.page
+                lease,
+                diagnostics,
+                contextPair.context(),
+                contextPair.page(),
+                missedHarRequests,
+                diagnosticHar,
+                blockingStats
         );
-    }
-
-    private static BrowserType selectBrowser(Playwright playwright, String browserName) {
-        String normalized = browserName == null ? "" : browserName.trim().toLowerCase(Locale.ROOT);
-        LOG.info("Выбираем тип браузера: запрос='{}'", normalized.isBlank() ? "chromium (по умолчанию)" : normalized);
-        return switch (normalized) {
-            case "firefox" -> playwright.firefox(); // стандартное соответствие названию браузера
-            case "webkit" -> playwright.webkit();
-            case "chromium", "", "chrome" -> playwright.chromium(); // default: chromium, если ничего не указано
-            default -> throw new IllegalArgumentException("Unsupported browser type: " + browserName);
-        };
-    }
-
-    private record BrowserContextPair(com.microsoft.playwright.BrowserContext context,
-                                      com.microsoft.playwright.Page page) {
-
-        private static BrowserContextPair create(Browser browser, NewContextOptions options) {
-            var context = browser.newContext(options); // создаём изолированный контекст на каждый тест
-            return new BrowserContextPair(context, context.newPage()); // сразу открываем вкладку, чтобы использовать её дальше
-        }
+        SessionWatchdog.watch(session); // зависшую сессию сторож закроет и освободит поток
+        return session;
     }
 }
 
@@ -1,20 +1,17 @@
 package com.example.framework.core;
 
 import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.support.ArtifactPipeline;
 import com.example.framework.core.support.FileSystemSupport;
-import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
-import com.microsoft.playwright.Tracing;
 import com.microsoft.playwright.Video;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,24 +23,35 @@ public final class PlaywrightSession implements AutoCloseable {
 
     private final String testId;
     private final FrameworkConfig config;
-    private final Playwright playwright;
-    private final Browser browser;
+    private final BrowserRegistry.Lease lease;
+    private final Diagnostics diagnostics;
     private final BrowserContext context;
     private final Page page;
-    private boolean tracingStarted;
+    private final List<String> missedHarRequests;
+    private final Path diagnosticHar;
+    private final ResourceBlocker.Stats blockingStats;
+    private TraceChunks traceChunks;
+    private TrafficCounter traffic;
+    private volatile SessionWatchdog.Incident watchdogIncident;
 
     PlaywrightSession(String testId,
                       FrameworkConfig config,
-                      Playwright playwright,
-                      Browser browser,
+                      BrowserRegistry.Lease lease,
+                      Diagnostics diagnostics,
                       BrowserContext context,
-                      Page page) {
+                      Page page,
+                      List<String> missedHarRequests,
+                      Path diagnosticHar,
+                      ResourceBlocker.Stats blockingStats) {
         this.testId = testId; // пригодится при генерации имён файлов с артефактами
         this.config = config; // храним ссылку, чтобы страницы знали настройки
-        this.playwright = playwright;
-        this.browser = browser;
+        this.lease = lease; // драйвер и браузер могут быть общими для нескольких тестов потока
+        this.diagnostics = diagnostics; // видео, трейс и HAR включаются на уровне сессии, а не только конфига
         this.context = context; // каждый тест работает в своём браузерном контексте
         this.page = page; // готовая вкладка, с которой взаимодействуют Page Object'ы
+        this.missedHarRequests = missedHarRequests; // заполняется только в режиме replay
+        this.diagnosticHar = diagnosticHar;
+        this.blockingStats = blockingStats;
     }
 
     public String testId() {
@@ -62,36 +70,90 @@ public final class PlaywrightSession implements AutoCloseable {
         return config;
     }
 
+    public Diagnostics diagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Starts counting finished requests and received bytes of the whole context; idempotent.
+     */
+    public void trackTraffic() {
+        if (traffic == null) {
+            traffic = TrafficCounter.install(context);
+        }
+    }
+
+    /**
+     * Traffic counted since {@link #trackTraffic()}; empty when tracking was never started.
+     */
+    public Optional<TrafficStats> traffic() {
+        return Optional.ofNullable(traffic).map(TrafficCounter::snapshot);
+    }
+
+    /**
+     * Diagnostic HAR of the session; complete only after {@link #close()}.
+     */
+    public Optional<Path> diagnosticHar() {
+        return Optional.ofNullable(diagnosticHar);
+    }
+
+    /**
+     * Requests that could not be served from the HAR archive in replay mode.
+     */
+    public List<String> missedHarRequests() {
+        return List.copyOf(missedHarRequests);
+    }
+
+    /**
+     * Diagnostic of the watchdog when it reclaimed this session; the session's driver has been killed then.
+     */
+    public Optional<SessionWatchdog.Incident> watchdogIncident() {
+        return Optional.ofNullable(watchdogIncident);
+    }
+
+    void reclaimed(SessionWatchdog.Incident incident) {
+        this.watchdogIncident = incident;
+    }
+
+    void killDriver() {
+        lease.kill();
+    }
+
+    /**
+     * Requests aborted by the session's blocking profile so far.
+     */
+    public BlockedTraffic blockedTraffic() {
+        return blockingStats.toReport();
+    }
+
     public void startTracingIfEnabled() {
-        if (config.traceEnabled() && !tracingStarted) {
-            LOG.info("Запускаем Playwright-трейс для {}", testId);
-            context.tracing().start(new Tracing.StartOptions()
-                    .setSnapshots(true)
-                    .setSources(true)
-                    .setScreenshots(true));
-            tracingStarted = true;
+        if (diagnostics.trace() && traceChunks == null) {
+            LOG.info("Запускаем Playwright-трейс для {} (уровень={}, хранить шагов={})", testId, config.traceLevel(), config.traceChunksKeep());
+            traceChunks = TraceChunks.start(page, context.tracing(), config.traceLevel(), config.traceDir(), testId, config.traceChunksKeep()); // чанк на каждый шаг
         } else {
-            LOG.info("Трейс для {} не запущен (включен={} ужеНачат={})", testId, config.traceEnabled(), tracingStarted);
+            LOG.info("Трейс для {} не запущен (включен={} ужеНачат={})", testId, diagnostics.trace(), traceChunks != null);
         }
     }
 
-    public Optional<Path> exportTraceIfEnabled() {
-        if (!config.traceEnabled() || !tracingStarted) {
-            LOG.info("Экспорт трейса для {} пропущен (включен={} ужеНачат={})", testId, config.traceEnabled(), tracingStarted);
-            return Optional.empty();
+    /**
+     * Stops tracing and returns the trace chunks of the last steps, oldest first; empty when tracing is off.
+     */
+    public List<Path> exportTraceIfEnabled() {
+        if (traceChunks == null) {
+            LOG.info("Экспорт трейса для {} пропущен (включен={})", testId, diagnostics.trace());
+            return List.of();
         }
-        Path tracePath = FileSystemSupport.buildArtifactPath(config.traceDir(), testId + "-trace-" + Instant.now().toEpochMilli(), ".zip"); // имя файла завязано на тест
-        context.tracing().stop(new Tracing.StopOptions().setPath(tracePath));
-        tracingStarted = false;
-        LOG.info("Трейс для {} сохранен в {}", testId, tracePath);
-        return Optional.of(tracePath);
+        List<Path> chunks = traceChunks.export();
+        traceChunks = null;
+        LOG.info("Трейс для {} сохранен в {}", testId, chunks);
+        return chunks;
     }
 
     public void stopTracingSilently() {
-        if (tracingStarted) {
+        if (traceChunks != null) {
             LOG.info("Останавливаем трейс для {} без экспорта", testId);
-            context.tracing().stop();
-            tracingStarted = false;
+            traceChunks.discard(); // сохранённые чанки успешного теста удаляются
+            traceChunks = null;
         } else {
             LOG.info("Трейс для {} уже остановлен", testId);
         }
@@ -108,19 +170,15 @@ public final class PlaywrightSession implements AutoCloseable {
                 testId + "-" + suffix + "-" + Instant.now().toEpochMilli(),
                 ".png"
         );
-        try {
-            java.nio.file.Files.write(target, screenshotBytes);
-        } catch (IOException e) {
-            throw new UncheckedIOException("Unable to store screenshot to " + target, e);
-        }
-        LOG.info("Скриншот для {} сохранен в {}", testId, target);
+        ArtifactPipeline.write(screenshotBytes, target); // запись идёт в фоне, поток теста не ждёт диска
+        LOG.info("Скриншот для {} поставлен в очередь записи в {}", testId, target);
         return target;
     }
 
     public Optional<Path> closeAndCollectVideo(boolean persist, String suffix) {
         Video video = page.video(); // Playwright возвращает объект записи, если видео включено
         page.close(); // закрываем вкладку перед сбором артефактов
-        if (video != null && config.videoEnabled()) {
+        if (video != null && diagnostics.video()) {
             if (!persist) {
                 LOG.info("Видео для {} удалено по запросу", testId);
                 video.delete();
@@ -137,22 +195,19 @@ public final class PlaywrightSession implements AutoCloseable {
             return Optional.of(target);
         }
         LOG.info("Видео для {} отсутствует (видеоВключено={}, видеоПолучено={})",
-                testId, config.videoEnabled(), video != null);
+                testId, diagnostics.video(), video != null);
         return Optional.empty();
     }
 
     @Override
     public void close() {
         LOG.info("Закрываем Playwright-сессию {}", testId);
+        SessionState.release(page); // отложенная навигация, чанки трейса, замеры шагов и сторож сессии уходят вместе с ней
         try {
             context.close();
         } finally {
-            try {
-                browser.close();
-            } finally {
-                playwright.close();
-                LOG.info("Playwright-сессия {} закрыта", testId);
-            }
+            lease.release(); // общий браузер остаётся жить, выделенный закрывается
+            LOG.info("Playwright-сессия {} закрыта (общий браузер={})", testId, lease.shared());
         }
     }
 }
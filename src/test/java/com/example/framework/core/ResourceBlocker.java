@@ -0,0 +1,120 @@
+package com.example.framework.core;
+
+import com.example.framework.config.BlockingProfile;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Applies a {@link BlockingProfile} to a context as route rules and counts what it blocked.
+ */
+final class ResourceBlocker {
+
+    // средний размер ответа по типу ресурса — оборванные запросы ничего не передают, поэтому объём только оцениваем
+    private static final Map<String, SizeAverage> OBSERVED_SIZES = new ConcurrentHashMap<>();
+
+    private ResourceBlocker() {
+    }
+
+    static Stats install(BrowserContext context, BlockingProfile profile) {
+        Stats stats = new Stats(profile.name());
+        if (profile.blocksNothing()) {
+            return stats;
+        }
+        context.onResponse(ResourceBlocker::observeSize);
+        context.route("**/*", route -> {
+            Request request = route.request();
+            String type = request.resourceType();
+            if (profile.blocks(type, hostOf(request.url()))) {
+                stats.record(type);
+                route.abort("blockedbyclient");
+            } else {
+                route.fallback(); // отдаём запрос следующим обработчикам (HAR, кэш статики) или в сеть
+            }
+        });
+        return stats;
+    }
+
+    private static void observeSize(Response response) {
+        String length = response.headers().get("content-length"); // заголовки ответа приходят вместе с событием, без обращения к драйверу
+        if (length == null) {
+            return;
+        }
+        try {
+            OBSERVED_SIZES.computeIfAbsent(response.request().resourceType(), type -> new SizeAverage())
+                    .add(Long.parseLong(length.trim()));
+        } catch (NumberFormatException ignored) {
+            // некорректный content-length просто не учитываем
+        }
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Per-session counters of blocked requests.
+     */
+    static final class Stats {
+
+        private final String profile;
+        private final Map<String, LongAdder> blockedByType = new ConcurrentHashMap<>();
+
+        private Stats(String profile) {
+            this.profile = profile;
+        }
+
+        private void record(String type) {
+            blockedByType.computeIfAbsent(type, key -> new LongAdder()).increment();
+        }
+
+        BlockedTraffic toReport() {
+            return new BlockedTraffic(profile, blockedRequests(), estimatedBlockedBytes(), blockedByType());
+        }
+
+        private long blockedRequests() {
+            return blockedByType.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        private long estimatedBlockedBytes() {
+            return blockedByType.entrySet().stream()
+                    .mapToLong(entry -> entry.getValue().sum() * OBSERVED_SIZES.getOrDefault(entry.getKey(), SizeAverage.EMPTY).average())
+                    .sum();
+        }
+
+        private Map<String, Long> blockedByType() {
+            Map<String, Long> snapshot = new TreeMap<>();
+            blockedByType.forEach((type, count) -> snapshot.put(type, count.sum()));
+            return snapshot;
+        }
+    }
+
+    private static final class SizeAverage {
+
+        private static final SizeAverage EMPTY = new SizeAverage();
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private void add(long size) {
+            count.increment();
+            bytes.add(size);
+        }
+
+        private long average() {
+            long samples = count.sum();
+            return samples == 0 ? 0 : bytes.sum() / samples;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.framework.core;
+
+/**
+ * Per-test knobs that shape how {@link PlaywrightFactory} builds a session.
+ *
+ * @param scope           browser reuse scope used by the per-class isolation level
+ * @param blockingProfile request blocking profile name, {@code null} for the configured default
+ * @param diagnostics     video/trace/HAR recording, {@code null} for the configured switches
+ * @param overrides       browser engine, viewport and locale, {@code null} for the configured ones
+ * @param harId           key of the record/replay HAR archive, {@code null} for the session's test id
+ */
+public record SessionOptions(String scope, String blockingProfile, Diagnostics diagnostics, BrowserOverrides overrides, String harId) {
+
+    public static SessionOptions defaults(String scope) {
+        return new SessionOptions(scope, null, null, null, null);
+    }
+}
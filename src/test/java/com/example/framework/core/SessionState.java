@@ -0,0 +1,94 @@
+package com.example.framework.core;
+
+import com.microsoft.playwright.Page;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-session values of framework components (deferred navigation, trace chunks, step samples, budgets, watchdog),
+ * looked up from the session's page. Each component owns a typed {@link Key}; everything is dropped at once
+ * when {@link PlaywrightSession#close()} releases the page, so no component needs its own cleanup.
+ */
+public final class SessionState {
+
+    private static final Map<Page, SessionState> BY_PAGE = new ConcurrentHashMap<>();
+
+    private final Map<Key<?>, Object> values = new ConcurrentHashMap<>();
+
+    private SessionState() {
+    }
+
+    /**
+     * State of {@code page}, created on first use; pages opened outside a session (e.g. benchmarks) get one too.
+     */
+    public static SessionState of(Page page) {
+        return BY_PAGE.computeIfAbsent(page, key -> new SessionState());
+    }
+
+    /**
+     * State of {@code page} if any component has used it; lookups that only read should not create state.
+     */
+    public static Optional<SessionState> find(Page page) {
+        return Optional.ofNullable(BY_PAGE.get(page));
+    }
+
+    static Collection<SessionState> all() {
+        return List.copyOf(BY_PAGE.values());
+    }
+
+    static void release(Page page) {
+        BY_PAGE.remove(page);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key) {
+        return (T) values.get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Key<T> key, Supplier<T> factory) {
+        return (T) values.computeIfAbsent(key, ignored -> factory.get());
+    }
+
+    public <T> void put(Key<T> key, T value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T remove(Key<T> key) {
+        return (T) values.remove(key);
+    }
+
+    /**
+     * Removes the value only if it is still {@code expected}; used when another thread may have replaced it.
+     */
+    public <T> boolean remove(Key<T> key, T expected) {
+        return values.remove(key, expected);
+    }
+
+    /**
+     * Identity key of one value; components keep their keys private.
+     */
+    public static final class Key<T> {
+
+        private final String name;
+
+        public Key(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
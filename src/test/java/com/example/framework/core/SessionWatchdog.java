@@ -0,0 +1,142 @@
+package com.example.framework.core;
+
+import com.example.framework.config.FrameworkConfig;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Watches every live {@link PlaywrightSession} and reclaims the ones whose driver went silent.
+ * A session is stuck when the driver reported no activity (request, response, navigation or page-object step)
+ * for {@code watchdog.idle.timeout.ms}. The watchdog then records an {@link Incident} and kills the driver of the
+ * session's lease; the call blocking the owner thread fails, and the owner reports the incident with the trace chunks
+ * already on disk. No screenshot is produced, since the driver is gone by then. A thread stuck outside Playwright calls
+ * cannot be freed this way.
+ * <p>
+ * Playwright objects are not thread-safe, so killing the driver is the only thing the watchdog does to a session.
+ */
+public final class SessionWatchdog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionWatchdog.class);
+    private static final long CHECK_INTERVAL_MS = 1_000;
+    private static final int STACK_DEPTH = 20;
+    private static final SessionState.Key<Watch> WATCH = new SessionState.Key<>("watchdog");
+    private static ScheduledExecutorService checker;
+
+    private SessionWatchdog() {
+    }
+
+    /**
+     * Starts watching a session owned by the current thread; no-op unless {@code watchdog.enabled=true}.
+     */
+    static void watch(PlaywrightSession session) {
+        FrameworkConfig config = session.config();
+        if (!config.watchdogEnabled()) {
+            return;
+        }
+        Watch watch = new Watch(session, Thread.currentThread());
+        BrowserContext context = session.context();
+        context.onRequest(request -> watch.touch()); // события приходят, только пока поток-владелец внутри вызова драйвера
+        context.onResponse(response -> watch.touch());
+        session.page().onFrameNavigated(frame -> watch.touch());
+        SessionState.of(session.page()).put(WATCH, watch);
+        startChecker();
+    }
+
+    /**
+     * Marks the start of a page-object step on {@code page}; the step name is reported when the session hangs.
+     */
+    public static void beginStep(Page page, String step) {
+        SessionState.find(page).map(state -> state.get(WATCH)).ifPresent(watch -> {
+            watch.step = step;
+            watch.touch();
+        });
+    }
+
+    /**
+     * Stops the watchdog thread. Intended to be called once all tests have finished.
+     */
+    public static synchronized void shutdown() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+    }
+
+    private static synchronized void startChecker() {
+        if (checker == null) {
+            checker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("session-watchdog").daemon().factory());
+            checker.scheduleWithFixedDelay(SessionWatchdog::check, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void check() {
+        long now = System.nanoTime();
+        for (SessionState state : SessionState.all()) {
+            Watch watch = state.get(WATCH);
+            if (watch == null) {
+                continue;
+            }
+            long idleMs = TimeUnit.NANOSECONDS.toMillis(now - watch.lastActivityNanos);
+            int limitMs = watch.session.config().watchdogIdleTimeoutMs();
+            if (idleMs > limitMs && state.remove(WATCH, watch)) {
+                Thread.ofVirtual().name("session-watchdog-" + watch.session.testId())
+                        .start(() -> reclaim(watch, idleMs, limitMs)); // проверка остальных сессий не ждёт остановки драйвера
+            }
+        }
+    }
+
+    private static void reclaim(Watch watch, long idleMs, int limitMs) {
+        PlaywrightSession session = watch.session;
+        String stack = Arrays.stream(watch.owner.getStackTrace())
+                .limit(STACK_DEPTH)
+                .map(frame -> "    at " + frame)
+                .collect(Collectors.joining("\n"));
+        String reason = "no driver activity for " + idleMs + " ms (limit " + limitMs + " ms)";
+        LOG.error("Сессия {} зависла ({}), шаг '{}', поток {} — останавливаем драйвер", session.testId(), reason, watch.step, watch.owner.getName());
+        session.reclaimed(new Incident(session.testId(), reason, watch.step, idleMs, watch.owner.getName(), stack)); // до остановки: владелец увидит инцидент, как только его вызов упадёт
+        try {
+            session.killDriver();
+        } catch (RuntimeException e) {
+            LOG.warn("Не удалось остановить драйвер сессии {}: {}", session.testId(), e.getMessage());
+        }
+    }
+
+    /**
+     * What the watchdog saw when it reclaimed a session.
+     */
+    public record Incident(String testId, String reason, String step, long idleMs, String thread, String stack) {
+
+        public String describe() {
+            return """
+                    Session %s was reclaimed by the watchdog: %s
+                    Current step: %s
+                    Stuck thread %s:
+                    %s""".formatted(testId, reason, step == null ? "none" : "'" + step + "'", thread, stack);
+        }
+    }
+
+    private static final class Watch {
+
+        private final PlaywrightSession session;
+        private final Thread owner;
+        private volatile long lastActivityNanos = System.nanoTime();
+        private volatile String step;
+
+        private Watch(PlaywrightSession session, Thread owner) {
+            this.session = session;
+            this.owner = owner;
+        }
+
+        private void touch() {
+            lastActivityNanos = System.nanoTime();
+        }
+    }
+}
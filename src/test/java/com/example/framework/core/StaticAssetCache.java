@@ -0,0 +1,250 @@
+package com.example.framework.core;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide cache of static responses (scripts, styles, fonts, images) shared by all browser contexts.
+ * Bodies are kept in direct buffers outside the Java heap; the cache is byte-bounded with LRU eviction
+ * and honours {@code Cache-Control} freshness and {@code ETag} revalidation. Entries are keyed by URL only, so responses
+ * that set cookies or vary on request headers other than {@code Accept-Encoding} are never shared between contexts.
+ */
+public final class StaticAssetCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaticAssetCache.class);
+    private static final Pattern STATIC_URL = Pattern.compile(
+            "^[^?#]+\\.(js|mjs|css|woff2?|ttf|otf|eot|png|jpe?g|gif|svg|webp|avif|ico)([?#].*)?$",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(256, 0.75f, true);
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder REVALIDATED = new LongAdder();
+    private static final LongAdder BYTES_SAVED = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+    private static long storedBytes; // защищено монитором ENTRIES
+
+    private StaticAssetCache() {
+    }
+
+    /**
+     * Routes static requests of the context through the shared cache.
+     */
+    static void install(BrowserContext context, long maxBytes) {
+        context.route(STATIC_URL, route -> handle(route, maxBytes)); // регулярка уходит в драйвер: остальные запросы не перехватываются
+    }
+
+    private static void handle(Route route, long maxBytes) {
+        Request request = route.request();
+        if (!"GET".equals(request.method())) {
+            route.fallback();
+            return;
+        }
+
+        String url = request.url();
+        Entry cached = lookup(url);
+        if (cached != null && cached.isFresh()) {
+            HITS.increment();
+            BYTES_SAVED.add(cached.size());
+            fulfill(route, cached);
+            return;
+        }
+
+        Map<String, String> headers = new HashMap<>(request.headers());
+        if (cached != null && cached.etag != null) {
+            headers.put("if-none-match", cached.etag); // устаревшую запись пробуем подтвердить условным запросом
+        }
+        APIResponse response = route.fetch(new Route.FetchOptions().setHeaders(headers));
+        try {
+            if (cached != null && response.status() == 304) {
+                REVALIDATED.increment();
+                BYTES_SAVED.add(cached.size());
+                store(url, cached.refreshed(freshUntil(response.headers())), maxBytes);
+                fulfill(route, cached);
+                return;
+            }
+            MISSES.increment();
+            byte[] body = response.body();
+            Entry entry = Entry.of(response, body);
+            if (entry != null) {
+                store(url, entry, maxBytes);
+            }
+            route.fulfill(new Route.FulfillOptions()
+                    .setStatus(response.status())
+                    .setHeaders(replayableHeaders(response.headers()))
+                    .setBodyBytes(body));
+        } finally {
+            response.dispose();
+        }
+    }
+
+    private static void fulfill(Route route, Entry entry) {
+        route.fulfill(new Route.FulfillOptions()
+                .setStatus(entry.status)
+                .setHeaders(entry.headers)
+                .setBodyBytes(entry.copyBody()));
+    }
+
+    private static Entry lookup(String url) {
+        synchronized (ENTRIES) {
+            return ENTRIES.get(url);
+        }
+    }
+
+    private static void store(String url, Entry entry, long maxBytes) {
+        if (entry.size() > maxBytes) {
+            return; // слишком большой ответ не вытесняет весь кэш
+        }
+        synchronized (ENTRIES) {
+            Entry previous = ENTRIES.put(url, entry);
+            if (previous != null) {
+                storedBytes -= previous.size();
+            }
+            storedBytes += entry.size();
+            Iterator<Entry> iterator = ENTRIES.values().iterator();
+            while (storedBytes > maxBytes && iterator.hasNext()) {
+                Entry eldest = iterator.next(); // порядок доступа: первым идёт давно не использованный ответ
+                iterator.remove();
+                storedBytes -= eldest.size();
+                EVICTIONS.increment();
+            }
+        }
+    }
+
+    private static long freshUntil(Map<String, String> headers) {
+        String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-cache")) {
+            return 0L; // можно хранить, но каждый раз подтверждать
+        }
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        if (matcher.find()) {
+            return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(Long.parseLong(matcher.group(1)));
+        }
+        return 0L;
+    }
+
+    private static Map<String, String> replayableHeaders(Map<String, String> headers) {
+        Map<String, String> copy = new HashMap<>(headers);
+        copy.remove("content-encoding"); // тело уже распаковано драйвером
+        copy.remove("content-length");
+        copy.remove("transfer-encoding");
+        return copy;
+    }
+
+    public static Snapshot snapshot() {
+        synchronized (ENTRIES) {
+            return new Snapshot(HITS.sum(), MISSES.sum(), REVALIDATED.sum(), BYTES_SAVED.sum(),
+                    EVICTIONS.sum(), ENTRIES.size(), storedBytes);
+        }
+    }
+
+    static void logSummary() {
+        Snapshot stats = snapshot();
+        if (stats.hits() + stats.misses() + stats.revalidated() == 0) {
+            return;
+        }
+        LOG.info("Кэш статических ресурсов: попадания={}, подтверждено по ETag={}, промахи={}, доля попаданий={}, сэкономлено={} КБ, вытеснено={}, в кэше {} записей / {} КБ",
+                stats.hits(), stats.revalidated(), stats.misses(), String.format(Locale.ROOT, "%.2f", stats.hitRatio()),
+                stats.bytesSaved() / 1024, stats.evictions(), stats.entries(), stats.storedBytes() / 1024);
+    }
+
+    /**
+     * Immutable view of the cache counters.
+     */
+    public record Snapshot(long hits,
+                           long misses,
+                           long revalidated,
+                           long bytesSaved,
+                           long evictions,
+                           int entries,
+                           long storedBytes) {
+
+        public double hitRatio() {
+            long total = hits + misses + revalidated;
+            return total == 0 ? 0.0 : (double) (hits + revalidated) / total;
+        }
+    }
+
+    private static final class Entry {
+
+        private final int status;
+        private final Map<String, String> headers;
+        private final ByteBuffer body;
+        private final String etag;
+        private final long freshUntil;
+
+        private Entry(int status, Map<String, String> headers, ByteBuffer body, String etag, long freshUntil) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.etag = etag;
+            this.freshUntil = freshUntil;
+        }
+
+        private static Entry of(APIResponse response, byte[] body) {
+            Map<String, String> headers = response.headers();
+            String cacheControl = headers.getOrDefault("cache-control", "").toLowerCase(Locale.ROOT);
+            String etag = headers.get("etag");
+            long freshUntil = freshUntil(headers);
+            if (response.status() != 200 || cacheControl.contains("no-store") || cacheControl.contains("private")
+                    || (freshUntil == 0L && etag == null)) {
+                return null; // без срока свежести и без валидатора кэшировать нечего
+            }
+            if (headers.containsKey("set-cookie") || !varyAllowed(headers.get("vary"))) {
+                return null; // cookie одного контекста не должна попасть в другие, а ключ кэша не учитывает Vary
+            }
+            ByteBuffer direct = ByteBuffer.allocateDirect(body.length); // тело вне кучи, чтобы не нагружать GC
+            direct.put(body).flip();
+            Map<String, String> stored = replayableHeaders(headers);
+            stored.remove("set-cookie"); // вторая страховка: общий ответ никогда не ставит cookie
+            return new Entry(response.status(), Map.copyOf(stored), direct.asReadOnlyBuffer(), etag, freshUntil);
+        }
+
+        private static boolean varyAllowed(String vary) {
+            if (vary == null) {
+                return true;
+            }
+            for (String header : vary.split(",")) {
+                String name = header.trim().toLowerCase(Locale.ROOT);
+                if (!name.isEmpty() && !name.equals("accept-encoding")) {
+                    return false; // тело распаковано драйвером, поэтому различие по Accept-Encoding не важно
+                }
+            }
+            return true;
+        }
+
+        private Entry refreshed(long newFreshUntil) {
+            return new Entry(status, headers, body, etag, newFreshUntil);
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() < freshUntil;
+        }
+
+        private int size() {
+            return body.capacity();
+        }
+
+        private byte[] copyBody() {
+            byte[] bytes = new byte[body.capacity()];
+            body.duplicate().get(bytes); // duplicate — у каждого потока своя позиция чтения
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.framework.core;
+
+import com.example.framework.config.TraceLevel;
+import com.example.framework.core.support.FileSystemSupport;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Tracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Splits a session trace into one chunk per page-object step and keeps only the last few chunks,
+ * so a failure exports the steps around it instead of the whole test.
+ */
+public final class TraceChunks {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TraceChunks.class);
+    private static final SessionState.Key<TraceChunks> ACTIVE = new SessionState.Key<>("trace chunks");
+    private static final LongAdder CHUNKS_WRITTEN = new LongAdder();
+    private static final LongAdder CHUNKS_SKIPPED = new LongAdder();
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+    private static final LongAdder BYTES_EXPORTED = new LongAdder();
+
+    private final Page page;
+    private final Tracing tracing;
+    private final Path directory;
+    private final String testId;
+    private final int keep;
+    private final Deque<Path> saved = new ArrayDeque<>();
+    private int sequence;
+    private String title = "start";
+
+    private TraceChunks(Page page, Tracing tracing, Path directory, String testId, int keep) {
+        this.page = page;
+        this.tracing = tracing;
+        this.directory = directory;
+        this.testId = testId;
+        this.keep = Math.max(1, keep);
+    }
+
+    static TraceChunks start(Page page, Tracing tracing, TraceLevel level, Path directory, String testId, int keep) {
+        boolean full = level != TraceLevel.DOM_ONLY; // OFF сюда попадает только при принудительной диагностике — пишем всё
+        tracing.start(new Tracing.StartOptions()
+                .setSnapshots(true)
+                .setScreenshots(full)
+                .setSources(full));
+        TraceChunks chunks = new TraceChunks(page, tracing, directory, testId, keep);
+        tracing.startChunk(new Tracing.StartChunkOptions().setTitle(chunks.title));
+        SessionState.of(page).put(ACTIVE, chunks);
+        return chunks;
+    }
+
+    /**
+     * Closes the current chunk and opens a new one titled {@code name}; no-op when the page is not traced.
+     */
+    public static void beginStep(Page page, String name) {
+        SessionState.find(page).map(state -> state.get(ACTIVE)).ifPresent(chunks -> chunks.rotate(name));
+    }
+
+    /**
+     * Writes the current chunk, stops tracing and returns the kept chunks, oldest first.
+     */
+    List<Path> export() {
+        SessionState.find(page).ifPresent(state -> state.remove(ACTIVE, this));
+        try {
+            saved.addLast(save());
+            tracing.stop();
+        } catch (PlaywrightException e) {
+            LOG.warn("Текущий чанк трейса {} недоступен ({}), экспортируем сохранённые ранее шаги", testId, e.getMessage()); // драйвер мог быть остановлен сторожем
+        }
+        saved.forEach(path -> BYTES_EXPORTED.add(sizeOf(path)));
+        LOG.info("Трейс {} экспортирован: {} последних чанк(ов) из {}", testId, saved.size(), sequence + 1);
+        return List.copyOf(saved);
+    }
+
+    /**
+     * Drops the current chunk, stops tracing and deletes chunks kept so far.
+     */
+    void discard() {
+        SessionState.find(page).ifPresent(state -> state.remove(ACTIVE, this));
+        tracing.stopChunk();
+        CHUNKS_SKIPPED.increment();
+        tracing.stop();
+        saved.forEach(TraceChunks::delete);
+        saved.clear();
+    }
+
+    private void rotate(String name) {
+        if (keep > 1) {
+            saved.addLast(save());
+            while (saved.size() > keep - 1) {
+                delete(saved.pollFirst()); // скользящее окно: старые шаги больше не нужны
+            }
+        } else {
+            tracing.stopChunk(); // хранится только текущий шаг — предыдущий даже не пишем на диск
+            CHUNKS_SKIPPED.increment();
+        }
+        sequence++;
+        title = name;
+        tracing.startChunk(new Tracing.StartChunkOptions().setTitle(name));
+    }
+
+    private Path save() {
+        Path target = FileSystemSupport.buildArtifactPath(directory, testId + "-trace-" + sequence + "-" + title, ".zip");
+        tracing.stopChunk(new Tracing.StopChunkOptions().setPath(target));
+        CHUNKS_WRITTEN.increment();
+        BYTES_WRITTEN.add(sizeOf(target));
+        return target;
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warn("Не удалось удалить чанк трейса {}: {}", path, e.getMessage());
+        }
+    }
+
+    public static void logSummary() {
+        long written = CHUNKS_WRITTEN.sum();
+        if (written == 0 && CHUNKS_SKIPPED.sum() == 0) {
+            return;
+        }
+        LOG.info("Трейсы за прогон: записано {} чанк(ов) ({} КБ), не записано {}, экспортировано при падениях {} КБ",
+                written, BYTES_WRITTEN.sum() / 1024, CHUNKS_SKIPPED.sum(), BYTES_EXPORTED.sum() / 1024);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.framework.core;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Response;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts requests and response sizes of a context from events only, without extra driver round trips.
+ * Sizes come from {@code Content-Length}, so the byte count is a lower bound.
+ */
+final class TrafficCounter {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private TrafficCounter() {
+    }
+
+    static TrafficCounter install(BrowserContext context) {
+        TrafficCounter counter = new TrafficCounter();
+        context.onRequestFinished(request -> counter.requests.increment());
+        context.onResponse(counter::addSize);
+        return counter;
+    }
+
+    TrafficStats snapshot() {
+        return new TrafficStats(requests.sum(), bytes.sum());
+    }
+
+    private void addSize(Response response) {
+        String length = response.headers().get("content-length"); // request.sizes() потребовал бы обращения к драйверу
+        if (length == null) {
+            return;
+        }
+        try {
+            bytes.add(Long.parseLong(length.trim()));
+        } catch (NumberFormatException ignored) {
+            // некорректный content-length просто не учитываем
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.framework.core;
+
+/**
+ * Network traffic of a session.
+ *
+ * @param requests      finished requests (aborted and failed ones are not counted)
+ * @param receivedBytes lower bound of response bytes: the sum of {@code Content-Length} headers; chunked responses
+ *                      and bodies without the header are not included
+ */
+public record TrafficStats(long requests, long receivedBytes) {
+}
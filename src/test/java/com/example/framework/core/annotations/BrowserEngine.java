@@ -0,0 +1,17 @@
+package com.example.framework.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Browser engine ({@code chromium}, {@code firefox} or {@code webkit}) the test runs in, instead of the configured {@code browser}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface BrowserEngine {
+    String value();
+}
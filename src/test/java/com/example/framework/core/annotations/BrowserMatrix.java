@@ -0,0 +1,22 @@
+package com.example.framework.core.annotations;
+
+import com.example.framework.core.extensions.BrowserMatrixExtension;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a test (used instead of {@code @Test}) that runs once per browser engine.
+ * With no engines listed the suite-level {@code browser.matrix} setting applies.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@ExtendWith(BrowserMatrixExtension.class)
+public @interface BrowserMatrix {
+    String[] value() default {};
+}
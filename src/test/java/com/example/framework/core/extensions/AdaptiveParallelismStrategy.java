@@ -0,0 +1,59 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.ExecutorMode;
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.BrowserSlots;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Sizes the JUnit worker pool from {@link FrameworkConfig#parallelism()} (used as a ceiling),
+ * the number of available cores and the physical memory left for browsers.
+ * In virtual executor mode the ceiling is the number of tests in flight and browsers are limited by {@link BrowserSlots}.
+ */
+public class AdaptiveParallelismStrategy implements ParallelExecutionConfigurationStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveParallelismStrategy.class);
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        FrameworkConfig config = ConfigurationManager.configuration();
+        int cores = Runtime.getRuntime().availableProcessors();
+        int ceiling = config.parallelism() > 0 ? config.parallelism() : cores; // 0 или меньше — ограничиваемся числом ядер
+        long freeMemoryMb = BrowserSlots.freePhysicalMemoryMb();
+        int browsers = BrowserSlots.recommendedBrowsers(config);
+
+        // в виртуальном режиме воркеры JUnit только ждут слот, поэтому тестов «в полёте» может быть больше, чем браузеров
+        int parallelism = config.executorMode() == ExecutorMode.VIRTUAL
+                ? Math.max(ceiling, BrowserSlots.capacity())
+                : browsers;
+
+        LOG.info("Параллелизм JUnit: выбрано {} потоков (режим={}, потолок из конфига={}, ядер={}, свободно памяти={} МБ, память на браузер={} МБ, браузеров по ресурсам={}, слотов браузера={})",
+                parallelism, config.executorMode(), ceiling, cores, freeMemoryMb < 0 ? "неизвестно" : freeMemoryMb,
+                config.browserMemoryMb(), browsers, BrowserSlots.capacity());
+
+        // потолок пула равен параллелизму: ForkJoinPool создаёт компенсирующие потоки для заблокированных воркеров вплоть до getMaxPoolSize,
+        // а каждый лишний воркер — это ещё один тест, ждущий браузер
+        return new AdaptiveConfiguration(parallelism, parallelism, parallelism, parallelism, KEEP_ALIVE_SECONDS);
+    }
+
+    private record AdaptiveConfiguration(int getParallelism,
+                                         int getMinimumRunnable,
+                                         int getMaxPoolSize,
+                                         int getCorePoolSize,
+                                         int getKeepAliveSeconds) implements ParallelExecutionConfiguration {
+
+        @Override
+        public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+            return pool -> true; // на потолке пула заблокированный воркер просто ждёт, а не роняет прогон RejectedExecutionException
+        }
+    }
+}
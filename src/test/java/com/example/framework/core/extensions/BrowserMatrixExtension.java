@@ -0,0 +1,72 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.core.BrowserRegistry;
+import com.example.framework.core.annotations.BrowserMatrix;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.UniqueId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Expands a {@link BrowserMatrix} test into one invocation per engine. Invocations are scheduled like any other
+ * test, so with concurrent execution all engines run side by side on workers that share one driver per thread.
+ */
+public class BrowserMatrixExtension implements TestTemplateInvocationContextProvider {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(BrowserMatrixExtension.class);
+    private static final Logger LOG = LoggerFactory.getLogger(BrowserMatrixExtension.class);
+    private static final String ENGINES_KEY = "engines";
+    private static final String INVOCATION_SEGMENT = "test-template-invocation";
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return context.getTestMethod().filter(method -> AnnotationSupport.isAnnotated(method, BrowserMatrix.class)).isPresent();
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        BrowserMatrix matrix = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), BrowserMatrix.class).orElseThrow();
+        List<String> declared = matrix.value().length > 0
+                ? Arrays.asList(matrix.value())
+                : ConfigurationManager.configuration().browserMatrix(); // список движков из конфига прогона
+        List<String> engines = declared.stream().map(BrowserRegistry::engineName).distinct().toList();
+        if (engines.isEmpty()) {
+            throw new IllegalStateException("No browser engines configured for " + context.getDisplayName());
+        }
+        LOG.info("Тест {} запускается на движках {}", context.getDisplayName(), engines);
+        context.getStore(NAMESPACE).put(ENGINES_KEY, engines); // номер вызова → движок, см. engineOf
+        return engines.stream().map(EngineInvocation::new);
+    }
+
+    /**
+     * Engine of the current matrix invocation, empty for ordinary tests.
+     */
+    static Optional<String> engineOf(ExtensionContext context) {
+        UniqueId.Segment segment = UniqueId.parse(context.getUniqueId()).getLastSegment();
+        if (!INVOCATION_SEGMENT.equals(segment.getType())) {
+            return Optional.empty();
+        }
+        return context.getParent()
+                .map(parent -> parent.getStore(NAMESPACE).get(ENGINES_KEY))
+                .filter(List.class::isInstance)
+                .map(List.class::cast)
+                .map(engines -> (String) engines.get(Integer.parseInt(segment.getValue().substring(1)) - 1)); // значение сегмента — «#N», N с единицы
+    }
+
+    private record EngineInvocation(String engine) implements TestTemplateInvocationContext {
+
+        @Override
+        public String getDisplayName(int invocationIndex) {
+            return "[" + engine + "]";
+        }
+    }
+}
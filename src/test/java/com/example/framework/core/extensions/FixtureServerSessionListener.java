@@ -0,0 +1,42 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.config.ConfigKeys;
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.core.fixtures.FixtureServer;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import java.net.URI;
+
+/**
+ * Starts the {@link FixtureServer} when {@code fixture.enabled=true} and points {@code baseUrl} at it before the
+ * configuration is loaded; stops it once every engine of the launcher session has finished,
+ * since the HTTP dispatcher thread would otherwise keep the JVM alive.
+ */
+public class FixtureServerSessionListener implements LauncherSessionListener {
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        if (!Boolean.parseBoolean(ConfigurationManager.setting(ConfigKeys.FIXTURE_ENABLED, "false"))) {
+            return;
+        }
+        URI uri = FixtureServer.start(
+                parseInteger(ConfigKeys.FIXTURE_LATENCY_MS, "0"),
+                parseInteger(ConfigKeys.FIXTURE_RESULTS, "20"));
+        System.setProperty(ConfigKeys.BASE_URL, uri.toString()); // тесты идут на локальную копию вместо живого сайта
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        FixtureServer.stop(); // сервер не запускался — ничего не делает
+    }
+
+    private static int parseInteger(String key, String defaultValue) {
+        String value = ConfigurationManager.setting(key, defaultValue);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer value '" + value + "' for config key: " + key, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.core.metrics.DurationHistory;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * Starts test classes with the longest expected duration first (see {@link DurationHistory}),
+ * so slow classes do not end up in the tail of a parallel run.
+ */
+public class LongestFirstClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        context.getClassDescriptors().sort(Comparator
+                .comparingLong((ClassDescriptor descriptor) -> DurationHistory.estimateMillis(descriptor.getTestClass()))
+                .reversed()
+                .thenComparing(descriptor -> descriptor.getTestClass().getName())); // стабильный порядок при равных оценках
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.core.metrics.DurationHistory;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.util.Comparator;
+
+/**
+ * Starts test methods with the longest expected duration first (see {@link DurationHistory}).
+ */
+public class LongestFirstMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        Class<?> testClass = context.getTestClass();
+        context.getMethodDescriptors().sort(Comparator
+                .comparingLong((MethodDescriptor descriptor) -> DurationHistory.estimateMillis(testClass, descriptor.getMethod()))
+                .reversed()
+                .thenComparing(descriptor -> descriptor.getMethod().getName()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.core.TrafficStats;
+import com.example.framework.core.metrics.PageVitals;
+import com.example.framework.core.metrics.StepLatency.StepSample;
+import com.example.framework.tags.annotations.PerformanceBudget;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Compares what a session measured with the limits of a {@link PerformanceBudget}.
+ */
+final class PerformanceBudgets {
+
+    private PerformanceBudgets() {
+    }
+
+    static Result evaluate(PerformanceBudget budget, List<PageVitals> navigations, List<StepSample> steps, TrafficStats traffic) {
+        List<String> lines = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+
+        Optional<PageVitals> slowestNavigation = navigations.stream()
+                .filter(vitals -> vitals.navigationMs() != null)
+                .max(Comparator.comparingDouble(PageVitals::navigationMs));
+        check("navigation", budget.maxNavigationMs(), slowestNavigation.map(PageVitals::navigationMs).orElse(null), "ms",
+                slowestNavigation.map(PageVitals::url).orElse(null), lines, violations);
+
+        Optional<StepSample> slowestStep = steps.stream().max(Comparator.comparingLong(StepSample::micros));
+        check("step", budget.maxStepMs(), slowestStep.map(StepSample::millis).orElse(null), "ms",
+                slowestStep.map(StepSample::step).orElse(null), lines, violations);
+
+        long navigationBytes = navigations.stream().mapToLong(PageVitals::transferBytes).sum(); // видит chunked-ответы, но только до момента замера
+        long transferred = Math.max(traffic.receivedBytes(), navigationBytes); // обе оценки занижены — берём большую
+        check("transferred", budget.maxTransferredKb(), transferred / 1024.0, "KB", "lower bound", lines, violations);
+        check("requests", budget.maxRequests(), (double) traffic.requests(), "", null, lines, violations);
+        return new Result(budget.mode(), List.copyOf(lines), List.copyOf(violations));
+    }
+
+    private static void check(String metric, long limit, Double actual, String unit, String subject, List<String> lines, List<String> violations) {
+        if (limit < 0) {
+            return;
+        }
+        String value = actual == null ? "n/a" : String.format(Locale.ROOT, "%.0f", actual);
+        String line = String.format("%-12s %s%s (limit %d%s)%s", metric, value, unit.isEmpty() ? "" : " " + unit,
+                limit, unit.isEmpty() ? "" : " " + unit, subject == null ? "" : " — " + subject);
+        lines.add(line);
+        if (actual != null && actual > limit) {
+            violations.add(line);
+        }
+    }
+
+    /**
+     * Outcome of a budget check.
+     */
+    record Result(PerformanceBudget.Mode mode, List<String> lines, List<String> violations) {
+
+        boolean violated() {
+            return !violations.isEmpty();
+        }
+
+        String describe() {
+            StringBuilder report = new StringBuilder("Mode: ").append(mode).append(System.lineSeparator());
+            lines.forEach(line -> report.append(violations.contains(line) ? "VIOLATED " : "ok       ").append(line).append(System.lineSeparator()));
+            return report.toString();
+        }
+    }
+}
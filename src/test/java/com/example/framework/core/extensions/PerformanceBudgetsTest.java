@@ -0,0 +1,97 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.core.TrafficStats;
+import com.example.framework.core.metrics.PageVitals;
+import com.example.framework.core.metrics.StepLatency.StepSample;
+import com.example.framework.tags.annotations.PerformanceBudget;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Evaluation of {@link PerformanceBudget} limits against what a session measured.
+ */
+class PerformanceBudgetsTest {
+
+    private static final List<PageVitals> NAVIGATIONS = List.of(
+            vitals("http://localhost/", 300.0, 800.0, 100_000),
+            vitals("http://localhost/answers", 900.0, null, 50_000));
+    private static final List<StepSample> STEPS = List.of(new StepSample("open search", 120_000), new StepSample("apply filter", 450_000));
+
+    @Test
+    @DisplayName("Measurements within every limit pass")
+    void withinLimits() {
+        PerformanceBudgets.Result result = PerformanceBudgets.evaluate(budget("generousBudget"), NAVIGATIONS, STEPS, new TrafficStats(10, 0));
+
+        assertFalse(result.violated(), result::describe);
+        assertEquals(4, result.lines().size());
+        assertEquals(PerformanceBudget.Mode.HARD, result.mode());
+    }
+
+    @Test
+    @DisplayName("The slowest navigation and step are named in the violations")
+    void slowestNavigationAndStep() {
+        PerformanceBudgets.Result result = PerformanceBudgets.evaluate(budget("tightBudget"), NAVIGATIONS, STEPS, new TrafficStats(10, 0));
+
+        assertTrue(result.violated());
+        assertEquals(2, result.violations().size(), result::describe);
+        assertTrue(result.violations().get(0).contains("http://localhost/answers"), result::describe); // load ещё не закончился — берём DOMContentLoaded
+        assertTrue(result.violations().get(1).contains("apply filter"), result::describe);
+        assertTrue(result.describe().contains("VIOLATED"));
+    }
+
+    @Test
+    @DisplayName("Transferred bytes use the larger of Content-Length and navigation transfer sizes")
+    void transferredLowerBound() {
+        PerformanceBudgets.Result fromNavigations = PerformanceBudgets.evaluate(budget("trafficBudget"), NAVIGATIONS, STEPS, new TrafficStats(3, 10 * 1024));
+        PerformanceBudgets.Result fromHeaders = PerformanceBudgets.evaluate(budget("trafficBudget"), List.of(), STEPS, new TrafficStats(3, 200 * 1024));
+        PerformanceBudgets.Result underLimit = PerformanceBudgets.evaluate(budget("trafficBudget"), List.of(), STEPS, new TrafficStats(3, 10 * 1024));
+
+        assertTrue(fromNavigations.violated(), fromNavigations::describe); // 146 КБ по Resource Timing
+        assertTrue(fromHeaders.violated(), fromHeaders::describe);
+        assertFalse(underLimit.violated(), underLimit::describe);
+    }
+
+    @Test
+    @DisplayName("Negative limits are not checked")
+    void unlimited() {
+        PerformanceBudgets.Result result = PerformanceBudgets.evaluate(budget("unlimitedBudget"), NAVIGATIONS, STEPS, new TrafficStats(1_000, Long.MAX_VALUE));
+
+        assertFalse(result.violated());
+        assertTrue(result.lines().isEmpty());
+        assertEquals(PerformanceBudget.Mode.SOFT, result.mode());
+    }
+
+    @PerformanceBudget(maxNavigationMs = 2_000, maxStepMs = 1_000, maxTransferredKb = 1_024, maxRequests = 50, mode = PerformanceBudget.Mode.HARD)
+    private static void generousBudget() {
+    }
+
+    @PerformanceBudget(maxNavigationMs = 850, maxStepMs = 200)
+    private static void tightBudget() {
+    }
+
+    @PerformanceBudget(maxTransferredKb = 100)
+    private static void trafficBudget() {
+    }
+
+    @PerformanceBudget
+    private static void unlimitedBudget() {
+    }
+
+    private static PerformanceBudget budget(String method) {
+        try {
+            return PerformanceBudgetsTest.class.getDeclaredMethod(method).getAnnotation(PerformanceBudget.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("No budget fixture " + method, e);
+        }
+    }
+
+    private static PageVitals vitals(String url, Double domContentLoadedMs, Double loadMs, long transferBytes) {
+        return new PageVitals(url, 50.0, domContentLoadedMs, loadMs, null, null, null, transferBytes, 10);
+    }
+}
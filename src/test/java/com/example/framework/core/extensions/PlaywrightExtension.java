@@ -1,84 +1,474 @@
 package com.example.framework.core.extensions;
 
+import com.example.framework.config.BlockingProfile;
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.DiagnosticsMode;
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.config.NavigationMode;
+import com.example.framework.core.BlockedTraffic;
+import com.example.framework.core.BrowserOverrides;
+import com.example.framework.core.BrowserRegistry;
+import com.example.framework.core.BrowserSlots;
+import com.example.framework.core.Diagnostics;
+import com.example.framework.core.InitialNavigation;
 import com.example.framework.core.PlaywrightFactory;
 import com.example.framework.core.PlaywrightSession;
+import com.example.framework.core.SessionOptions;
+import com.example.framework.core.SessionWatchdog;
+import com.example.framework.core.TraceChunks;
+import com.example.framework.core.TrafficStats;
+import com.example.framework.core.annotations.BrowserEngine;
+import com.example.framework.core.annotations.NoInitialNavigation;
+import com.example.framework.core.annotations.ResourceProfile;
+import com.example.framework.core.annotations.StartAt;
+import com.example.framework.core.annotations.Viewport;
+import com.example.framework.core.metrics.DurationHistory;
+import com.example.framework.core.metrics.NavigationMetrics;
+import com.example.framework.core.metrics.StepBudgets;
+import com.example.framework.core.metrics.StepLatency;
+import com.example.framework.core.support.ArtifactPipeline;
 import com.example.framework.core.support.FileSystemSupport;
+import com.example.framework.core.waits.WaitTimings;
 import com.example.framework.tags.annotations.Flaky;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.options.WaitUntilState;
+import com.example.framework.tags.annotations.PerformanceBudget;
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.ResultsUtils;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
 import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.opentest4j.TestAbortedException;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.file.Files;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * JUnit 5 extension that manages Playwright lifecycle and Allure attachments.
  */
-public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver, TestWatcher {
+public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallback, InvocationInterceptor, ParameterResolver, TestWatcher {
 
     private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PlaywrightExtension.class);
     private static final Logger LOG = LoggerFactory.getLogger(PlaywrightExtension.class);
+    private static final String SHARED_BROWSERS_KEY = "shared-browsers";
+
     @Override
     public void beforeEach(ExtensionContext context) {
-        String testId = FileSystemSupport.sanitizeFileName(context.getUniqueId()); // создаём аккуратный идентификатор, чтобы назвать файлы
+        registerSharedBrowsersShutdown(context);
+        String testId = testId(context);
         LOG.info("Готовим Playwright-сессию для {}", context.getDisplayName());
-        PlaywrightSession session = PlaywrightFactory.newSession(testId); // одна сессия на тест
-        session.startTracingIfEnabled(); // сразу включаем трейс, если это разрешено конфигом
+        BrowserMatrixExtension.engineOf(context).ifPresent(engine -> {
+            Allure.parameter("browser", engine);
+            Allure.label(ResultsUtils.PARENT_SUITE_LABEL_NAME, engine); // в Allure матричные вызовы сгруппированы по движку
+        });
+        BrowserSlots.Slot slot = BrowserSlots.acquire(testId); // ограничиваем число одновременно открытых браузеров
+        context.getStore(NAMESPACE).put(slotKey(context), slot);
+        context.getStore(NAMESPACE).put(startedKey(context), System.nanoTime()); // длительность теста для истории считаем с подготовки сессии, без ожидания слота
+        PlaywrightSession session;
+        try {
+            Diagnostics diagnostics = diagnosticsMode() == DiagnosticsMode.ON_RETRY ? Diagnostics.none() : null; // первая попытка — без тяжёлой диагностики
+            session = slot.supply(() -> openSession(context, testId, testId, diagnostics)); // всё, что создаёт сессия, живёт в потоке слота
+        } catch (RuntimeException | Error e) {
+            context.getStore(NAMESPACE).remove(slotKey(context));
+            slot.release();
+            throw e;
+        }
         context.getStore(NAMESPACE).put(sessionKey(context), session); // кладём сессию в стор, чтобы доставать позже
         context.getStore(NAMESPACE).put(artifactsKey(context), new Artifacts()); // структура для будущих вложений Allure
+    }
+
+    private PlaywrightSession openSession(ExtensionContext context, String artifactId, String testId, Diagnostics diagnostics) {
+        String scope = context.getRequiredTestClass().getName(); // область переиспользования браузера при изоляции per-class
+        SessionOptions options = new SessionOptions(scope, resolveResourceProfile(context), diagnostics, resolveOverrides(context), testId);
+        PlaywrightSession session = PlaywrightFactory.newSession(artifactId, options); // один контекст на тест, браузер по уровню изоляции
+        session.startTracingIfEnabled(); // сразу включаем трейс, если это разрешено конфигом
+        if (findAnnotation(context, PerformanceBudget.class).isPresent()) {
+            session.trackTraffic(); // бюджет по трафику и навигациям считаем только там, где он объявлен
+            NavigationMetrics.track(session.page());
+        }
 
-        // Automatically navigate to base URL to make tests more declarative.
-        session.page().navigate(session.config().baseUrl(), new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED)); // заранее открываем базовый адрес, чтобы тесты были лаконичнее
-        LOG.info("Начальная навигация завершена для {}", context.getDisplayName());
+        prepareInitialNavigation(context, session);
+        return session;
+    }
+
+    private void prepareInitialNavigation(ExtensionContext context, PlaywrightSession session) {
+        FrameworkConfig config = session.config();
+        if (findAnnotation(context, NoInitialNavigation.class).isPresent()) {
+            LOG.info("Начальная навигация для {} отключена аннотацией", context.getDisplayName());
+            return;
+        }
+        Optional<StartAt> startAt = findAnnotation(context, StartAt.class);
+        NavigationMode mode = config.initialNavigation();
+        if (mode == NavigationMode.NONE && startAt.isEmpty()) {
+            return; // тест сам решит, куда идти
+        }
+        String url = startAt.map(path -> URI.create(config.baseUrl()).resolve(path.value()).toString()).orElse(config.baseUrl());
+        if (mode == NavigationMode.LAZY) {
+            InitialNavigation.defer(session.page(), url); // откроем, только если Page Object'у понадобится загруженная страница
+            return;
+        }
+        InitialNavigation.navigate(session.page(), url); // заранее открываем стартовый адрес, чтобы тесты были лаконичнее
+        LOG.info("Начальная навигация на {} завершена для {}", url, context.getDisplayName());
     }
 
     @Override
     public void afterEach(ExtensionContext context) {
         PlaywrightSession session = getSession(context);
+        BrowserSlots.Slot slot = getSlot(context);
         if (session == null) {
             return;
         }
 
+        try {
+            slot.run(() -> closeSession(context, session)); // закрываем в том же потоке, где сессия создавалась
+        } finally {
+            context.getStore(NAMESPACE).remove(slotKey(context));
+            slot.release(); // слот свободен для следующего теста
+            recordDuration(context);
+        }
+    }
+
+    private void recordDuration(ExtensionContext context) {
+        Long started = context.getStore(NAMESPACE).remove(startedKey(context), Long.class);
+        if (started == null) {
+            return;
+        }
+        String key = DurationHistory.key(context.getRequiredTestClass(), context.getRequiredTestMethod())
+                + BrowserMatrixExtension.engineOf(context).map(engine -> "[" + engine + "]").orElse("");
+        DurationHistory.record(key, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void closeSession(ExtensionContext context, PlaywrightSession session) {
         LOG.info("Завершаем Playwright-сессию для {}", context.getDisplayName());
+        Optional<SessionWatchdog.Incident> incident = session.watchdogIncident();
+        if (incident.isPresent()) {
+            closeReclaimedSession(context, session, incident.get());
+            return;
+        }
         Artifacts artifacts = getArtifacts(context);
-        Optional<Path> videoPath = session.closeAndCollectVideo(artifacts.failed, artifacts.failed ? "failure" : "success"); // при успехе видео можно удалять
-
+        artifacts.failed = context.getExecutionException().isPresent(); // TestWatcher вызывается уже после afterEach, поэтому смотрим исключение здесь
         if (artifacts.failed) {
-            LOG.info("Тест {} завершился с ошибкой — видео сохранено: {}", context.getDisplayName(), videoPath.isPresent());
-            videoPath.ifPresent(path -> attachFile("Failure video", "video/webm", ".webm", path)); // прикладываем видео только когда упало
+            try {
+                collectFailureArtifacts(session, artifacts);
+            } catch (RuntimeException e) {
+                LOG.warn("Не удалось собрать артефакты падения для {}: {}", context.getDisplayName(), e.getMessage()); // сессию всё равно закрываем
+            }
         } else {
-            LOG.info("Тест {} прошёл успешно — видео удалено: {}", context.getDisplayName(), videoPath.isEmpty());
+            session.stopTracingSilently();
         }
+        Optional<PerformanceBudgets.Result> budget = Optional.empty();
+        List<String> missedHarRequests = List.of();
+        try {
+            Optional<Path> videoPath = session.closeAndCollectVideo(artifacts.failed, artifacts.failed ? "failure" : "success"); // при успехе видео можно удалять
+
+            if (artifacts.failed) {
+                LOG.info("Тест {} завершился с ошибкой — видео сохранено: {}", context.getDisplayName(), videoPath.isPresent());
+                videoPath.ifPresent(path -> ArtifactPipeline.attach("Failure video", "video/webm", ".webm", path)); // прикладываем видео только когда упало
+            } else {
+                LOG.info("Тест {} прошёл успешно — видео удалено: {}", context.getDisplayName(), videoPath.isEmpty());
+            }
 
-        session.close(); // закрываем контекст, браузер и Playwright
-        context.getStore(NAMESPACE).remove(sessionKey(context)); // чистим стор, чтобы не было утечек
+            List<StepLatency.StepSample> steps = StepLatency.drain(session.page());
+            if (!steps.isEmpty()) {
+                Allure.addAttachment("Step timings", "text/plain", StepLatency.describe(steps), ".txt");
+            }
+            budget = evaluateBudget(context, session, steps);
+            missedHarRequests = session.missedHarRequests();
+            reportBlockedTraffic(context, session.blockedTraffic());
+        } finally {
+            try {
+                session.close(); // закрываем контекст; браузер и Playwright закрываются согласно уровню изоляции (и дописываем HAR при записи)
+            } finally {
+                context.getStore(NAMESPACE).remove(sessionKey(context)); // чистим стор, чтобы не было утечек, даже если артефакты не собрались
+                context.getStore(NAMESPACE).remove(artifactsKey(context));
+            }
+        }
+        session.diagnosticHar().ifPresent(path -> ArtifactPipeline.attach("Network HAR", "application/json", ".har", path));
+        reportHarMisses(context, session, missedHarRequests);
+        budget.ifPresent(result -> enforceBudget(context, result));
+    }
+
+    private void closeReclaimedSession(ExtensionContext context, PlaywrightSession session, SessionWatchdog.Incident incident) {
+        Allure.addAttachment("Watchdog incident", "text/plain", incident.describe(), ".txt");
+        try {
+            // драйвер остановлен сторожем — скриншот снять нечем, прикладываем только чанки прошлых шагов, они уже лежат на диске
+            session.exportTraceIfEnabled().forEach(path -> ArtifactPipeline.attach(
+                    "Playwright trace " + path.getFileName(), "application/zip", ".zip", path));
+        } catch (RuntimeException e) {
+            LOG.warn("Трейс зависшей сессии {} недоступен: {}", context.getDisplayName(), e.getMessage());
+        }
+        closeQuietly(context, session); // драйвер остановлен сторожем, освобождаем аренду и слот
+        context.getStore(NAMESPACE).remove(sessionKey(context));
         context.getStore(NAMESPACE).remove(artifactsKey(context));
     }
 
+    private void closeQuietly(ExtensionContext context, PlaywrightSession session) {
+        try {
+            session.close();
+        } catch (RuntimeException e) {
+            LOG.warn("Сессия {} закрыта с ошибкой: {}", context.getDisplayName(), e.getMessage());
+        }
+    }
+
+    private Optional<PerformanceBudgets.Result> evaluateBudget(ExtensionContext context, PlaywrightSession session, List<StepLatency.StepSample> steps) {
+        Optional<PerformanceBudget> annotation = findAnnotation(context, PerformanceBudget.class);
+        if (annotation.isEmpty()) {
+            return Optional.empty();
+        }
+        PerformanceBudgets.Result result = PerformanceBudgets.evaluate(annotation.get(), NavigationMetrics.drain(session.page()), steps,
+                session.traffic().orElse(new TrafficStats(0, 0)));
+        Allure.label("performance-budget", result.violated() ? "violated" : "met");
+        Allure.addAttachment("Performance budget", "text/plain", result.describe(), ".txt");
+        return Optional.of(result);
+    }
+
+    private void enforceBudget(ExtensionContext context, PerformanceBudgets.Result result) {
+        if (!result.violated()) {
+            return;
+        }
+        LOG.warn("Тест {} превысил бюджет производительности ({}): {}", context.getDisplayName(), result.mode(), result.violations());
+        if (result.mode() == PerformanceBudget.Mode.HARD && context.getExecutionException().isEmpty()) {
+            throw new AssertionError("Performance budget exceeded:\n" + String.join("\n", result.violations()));
+        }
+    }
+
+    private void reportBlockedTraffic(ExtensionContext context, BlockedTraffic blocked) {
+        if (BlockingProfile.FULL.equals(blocked.profile()) && blocked.requests() == 0) {
+            return; // профиль по умолчанию ничего не блокирует — отчитываться не о чем
+        }
+        LOG.info("Тест {}: профиль {} заблокировал {} запрос(ов), ~{} КБ", context.getDisplayName(),
+                blocked.profile(), blocked.requests(), blocked.estimatedBytes() / 1024);
+        Allure.addAttachment("Blocked requests", "text/plain", blocked.describe(), ".txt");
+    }
+
+    private String resolveResourceProfile(ExtensionContext context) {
+        return findAnnotation(context, ResourceProfile.class)
+                .map(ResourceProfile::value)
+                .orElse(null); // null — профиль из конфигурации
+    }
+
+    private BrowserOverrides resolveOverrides(ExtensionContext context) {
+        Optional<Viewport> viewport = findAnnotation(context, Viewport.class);
+        return new BrowserOverrides(
+                BrowserMatrixExtension.engineOf(context)
+                        .or(() -> findAnnotation(context, BrowserEngine.class).map(BrowserEngine::value))
+                        .orElse(null), // null — значение из конфигурации
+                viewport.map(Viewport::width).orElse(null),
+                viewport.map(Viewport::height).orElse(null),
+                findAnnotation(context, com.example.framework.core.annotations.Locale.class)
+                        .map(com.example.framework.core.annotations.Locale::value)
+                        .orElse(null));
+    }
+
+    private <A extends Annotation> Optional<A> findAnnotation(ExtensionContext context, Class<A> type) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), type) // аннотация метода важнее аннотации класса
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), type));
+    }
+
+    private void reportHarMisses(ExtensionContext context, PlaywrightSession session, List<String> missed) {
+        if (missed.isEmpty()) {
+            return;
+        }
+        String report = "Requests missing from HAR archive (" + missed.size() + "):\n" + String.join("\n", missed);
+        LOG.warn("Тест {}: {} запрос(ов) не найдено в HAR-архиве", context.getDisplayName(), missed.size());
+        Allure.addAttachment("HAR misses", "text/plain", report, ".txt");
+        if (session.config().harStrict()) {
+            throw new AssertionError(report + "\nRe-record the archive with network.mode=record");
+        }
+    }
+
+    @Override
+    public void interceptBeforeEachMethod(Invocation<Void> invocation,
+                                          ReflectiveInvocationContext<Method> invocationContext,
+                                          ExtensionContext extensionContext) throws Throwable {
+        proceedInSlot(invocation, extensionContext);
+    }
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation,
+                                    ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        try {
+            proceedInSlot(invocation, extensionContext);
+        } catch (Throwable firstFailure) {
+            if (!shouldRetryWithDiagnostics(extensionContext, firstFailure)) {
+                throw firstFailure;
+            }
+            retryWithDiagnostics(invocationContext, extensionContext, firstFailure);
+        }
+    }
+
+    private boolean shouldRetryWithDiagnostics(ExtensionContext context, Throwable failure) {
+        if (failure instanceof TestAbortedException || getSession(context) == null) {
+            return false;
+        }
+        return diagnosticsMode() == DiagnosticsMode.ON_RETRY || findAnnotation(context, Flaky.class).isPresent(); // @Flaky повторяем всегда
+    }
+
+    private void retryWithDiagnostics(ReflectiveInvocationContext<Method> invocation, ExtensionContext context, Throwable firstFailure) throws Throwable {
+        LOG.warn("Тест {} упал на первой попытке ({}), повторяем в новой сессии с видео, трейсом и HAR",
+                context.getDisplayName(), firstFailure.getMessage());
+        try {
+            callInSlot(context, () -> {
+                reportFirstAttempt(context, firstFailure);
+                PlaywrightSession retrySession = replaceSession(context);
+                rerunBeforeEachMethods(context, retrySession);
+                Object[] arguments = retryArguments(invocation, retrySession);
+                Allure.step("Attempt 2 with diagnostics", () -> {
+                    ReflectionSupport.invokeMethod(invocation.getExecutable(), invocation.getTarget().orElse(null), arguments);
+                });
+                return null;
+            });
+        } catch (Throwable attemptFailure) {
+            Throwable retryFailure = withWatchdogDiagnostic(context, attemptFailure);
+            if (retryFailure != firstFailure) {
+                retryFailure.addSuppressed(firstFailure); // в отчёте видны обе попытки
+            }
+            throw retryFailure;
+        }
+        LOG.warn("Тест {} прошёл со второй попытки — помечаем как flaky", context.getDisplayName());
+        Allure.getLifecycle().updateTestCase(result -> result.setStatusDetails(
+                (result.getStatusDetails() == null ? new StatusDetails() : result.getStatusDetails()).setFlaky(true)));
+        Allure.label("flaky", "true");
+    }
+
+    private void reportFirstAttempt(ExtensionContext context, Throwable failure) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.startStep(uuid, new StepResult()
+                .setName("Attempt 1 without diagnostics")
+                .setStatus(ResultsUtils.getStatus(failure).orElse(Status.BROKEN))
+                .setStatusDetails(ResultsUtils.getStatusDetails(failure).orElse(null)));
+        try {
+            byte[] screenshot = getSession(context).captureScreenshot(); // скриншот дешёвый, снимаем его и без диагностики
+            ArtifactPipeline.attach("Attempt 1 screenshot", "image/png", ".png", screenshot);
+        } catch (RuntimeException e) {
+            LOG.warn("Не удалось снять скриншот первой попытки {}: {}", context.getDisplayName(), e.getMessage());
+        } finally {
+            lifecycle.stopStep(uuid);
+        }
+    }
+
+    private PlaywrightSession replaceSession(ExtensionContext context) {
+        PlaywrightSession failed = getSession(context);
+        if (failed.watchdogIncident().isPresent()) {
+            closeQuietly(context, failed); // вкладка и контекст уже закрыты сторожем
+        } else {
+            failed.stopTracingSilently();
+            failed.closeAndCollectVideo(false, "attempt-1");
+            failed.close();
+        }
+        String testId = testId(context);
+        PlaywrightSession retry = openSession(context, testId + "-retry", testId, Diagnostics.full()); // суффикс — только в именах артефактов, HAR-архив прежний
+        context.getStore(NAMESPACE).put(sessionKey(context), retry); // afterEach закроет уже новую сессию
+        return retry;
+    }
+
+    private void rerunBeforeEachMethods(ExtensionContext context, PlaywrightSession session) {
+        // пользовательские @BeforeEach могли запомнить старую сессию — прогоняем их заново с новой
+        for (Object instance : context.getRequiredTestInstances().getAllInstances()) {
+            for (Method method : AnnotationSupport.findAnnotatedMethods(instance.getClass(), BeforeEach.class, HierarchyTraversalMode.TOP_DOWN)) {
+                Parameter[] parameters = method.getParameters();
+                Object[] arguments = new Object[parameters.length];
+                boolean resolvable = true;
+                for (int i = 0; i < parameters.length && resolvable; i++) {
+                    resolvable = isSessionType(parameters[i].getType());
+                    arguments[i] = resolvable ? resolveByType(parameters[i].getType(), session) : null;
+                }
+                if (!resolvable) {
+                    LOG.warn("@BeforeEach {} не перезапущен перед повтором: есть параметры, которые расширение не умеет передать", method.getName());
+                    continue;
+                }
+                ReflectionSupport.invokeMethod(method, instance, arguments);
+            }
+        }
+    }
+
+    private Object[] retryArguments(ReflectiveInvocationContext<Method> invocation, PlaywrightSession session) {
+        Parameter[] parameters = invocation.getExecutable().getParameters();
+        Object[] arguments = invocation.getArguments().toArray();
+        for (int i = 0; i < parameters.length; i++) {
+            if (isSessionType(parameters[i].getType())) {
+                arguments[i] = resolveByType(parameters[i].getType(), session); // остальные аргументы (например, из @ParameterizedTest) оставляем
+            }
+        }
+        return arguments;
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation,
+                                            ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        interceptTestMethod(invocation, invocationContext, extensionContext); // вызовы @BrowserMatrix повторяются так же, как обычные тесты
+    }
+
+    @Override
+    public void interceptAfterEachMethod(Invocation<Void> invocation,
+                                         ReflectiveInvocationContext<Method> invocationContext,
+                                         ExtensionContext extensionContext) throws Throwable {
+        proceedInSlot(invocation, extensionContext);
+    }
+
+    private void proceedInSlot(Invocation<Void> invocation, ExtensionContext context) throws Throwable {
+        try {
+            callInSlot(context, invocation::proceed); // в виртуальном режиме тело теста выполняется в потоке, владеющем браузером
+        } catch (Throwable failure) {
+            throw withWatchdogDiagnostic(context, failure);
+        }
+    }
+
+    private Throwable withWatchdogDiagnostic(ExtensionContext context, Throwable failure) {
+        PlaywrightSession session = getSession(context);
+        Optional<SessionWatchdog.Incident> incident = session == null ? Optional.empty() : session.watchdogIncident();
+        if (incident.isEmpty()) {
+            return failure;
+        }
+        return new IllegalStateException(incident.get().describe(), failure); // вместо «Target closed» показываем, где и почему тест завис
+    }
+
+    private <T> T callInSlot(ExtensionContext context, ThrowingSupplier<T> action) throws Throwable {
+        BrowserSlots.Slot slot = getSlot(context);
+        return slot == null ? action.get() : slot.call(action);
+    }
+
     @Override
     public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
-        Class<?> type = parameterContext.getParameter().getType();
+        return isSessionType(parameterContext.getParameter().getType());
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return resolveByType(parameterContext.getParameter().getType(), getSession(extensionContext));
+    }
+
+    private boolean isSessionType(Class<?> type) {
         return type.equals(PlaywrightSession.class)
                 || type.equals(com.microsoft.playwright.Page.class) // можно просить напрямую Playwright `Page`
                 || type.equals(com.microsoft.playwright.BrowserContext.class); // или `BrowserContext`
     }
 
-    @Override
-    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
-        PlaywrightSession session = getSession(extensionContext);
-        Class<?> type = parameterContext.getParameter().getType();
+    private Object resolveByType(Class<?> type, PlaywrightSession session) {
         if (type.equals(PlaywrightSession.class)) {
             return session;
         }
@@ -93,44 +483,47 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
 
     @Override
     public void testSuccessful(ExtensionContext context) {
-        PlaywrightSession session = getSession(context);
-        if (session != null) {
-            session.stopTracingSilently();
-            LOG.info("Тест {} завершён успешно", context.getDisplayName());
-        }
+        LOG.info("Тест {} завершён успешно", context.getDisplayName());
     }
 
     @Override
     public void testAborted(ExtensionContext context, Throwable cause) {
-        // Clean tracing to avoid leaking resources.
-        PlaywrightSession session = getSession(context);
-        if (session != null) {
-            session.stopTracingSilently();
-        }
         LOG.warn("Тест {} прерван: {}", context.getDisplayName(), cause == null ? "причина не указана" : cause.getMessage());
     }
 
     @Override
     public void testFailed(ExtensionContext context, Throwable cause) {
-        PlaywrightSession session = getSession(context);
-        if (session == null) {
-            return;
-        }
+        // артефакты уже собраны в afterEach, здесь только отмечаем результат
         LOG.error("Тест {} упал: {}", context.getDisplayName(), cause == null ? "причина отсутствует" : cause.getMessage(), cause);
-        Artifacts artifacts = getArtifacts(context);
-        artifacts.failed = true; // позже afterEach поймёт, что надо сохранять видео
+        annotateFlakyIfNeeded(context);
+    }
 
+    private void collectFailureArtifacts(PlaywrightSession session, Artifacts artifacts) {
         byte[] screenshot = session.captureScreenshot(); // делаем full-page скриншот
         Path storedScreenshot = session.persistScreenshot(screenshot, "failure"); // сохраняем на диск с понятным именем
-        Allure.addAttachment("Failure screenshot", "image/png", new ByteArrayInputStream(screenshot), ".png"); // добавляем в отчёт Allure
+        ArtifactPipeline.attach("Failure screenshot", "image/png", ".png", screenshot); // вложение Allure дописывается в фоне
         artifacts.screenshotPath = storedScreenshot;
 
-        session.exportTraceIfEnabled().ifPresent(path -> {
-            artifacts.tracePath = path; // пригодится для локального анализа
-            attachFile("Playwright trace", "application/zip", ".zip", path); // выгружаем трейс в Allure
-        });
+        artifacts.tracePaths = session.exportTraceIfEnabled(); // пригодится для локального анализа
+        artifacts.tracePaths.forEach(path -> ArtifactPipeline.attach(
+                "Playwright trace " + path.getFileName(), "application/zip", ".zip", path)); // по вложению на каждый сохранённый шаг
+    }
 
-        annotateFlakyIfNeeded(context);
+    private void registerSharedBrowsersShutdown(ExtensionContext context) {
+        // корневой стор закрывается после всех тестов движка — там и освобождаем общие браузеры
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SHARED_BROWSERS_KEY,
+                key -> (ExtensionContext.Store.CloseableResource) () -> {
+                    BrowserRegistry.shutdown();
+                    BrowserSlots.shutdown();
+                    SessionWatchdog.shutdown();
+                    ArtifactPipeline.drain(); // дожидаемся записи всех артефактов до выхода JVM
+                    WaitTimings.logSummary();
+                    TraceChunks.logSummary();
+                    StepLatency.writeReport();
+                    NavigationMetrics.writeReport();
+                    DurationHistory.save();
+                    StepBudgets.save();
+                });
     }
 
     private void annotateFlakyIfNeeded(ExtensionContext context) {
@@ -144,16 +537,12 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
         return context.getStore(NAMESPACE).get(sessionKey(context), PlaywrightSession.class);
     }
 
-    private Artifacts getArtifacts(ExtensionContext context) {
-        return context.getStore(NAMESPACE).get(artifactsKey(context), Artifacts.class);
+    private BrowserSlots.Slot getSlot(ExtensionContext context) {
+        return context.getStore(NAMESPACE).get(slotKey(context), BrowserSlots.Slot.class);
     }
 
-    private void attachFile(String name, String mimeType, String extension, Path path) {
-        try {
-            Allure.addAttachment(name, mimeType, Files.newInputStream(path), extension);
-        } catch (IOException e) {
-            throw new UncheckedIOException("Unable to attach file " + path, e);
-        }
+    private Artifacts getArtifacts(ExtensionContext context) {
+        return context.getStore(NAMESPACE).get(artifactsKey(context), Artifacts.class);
     }
 
     private static final class Artifacts {
@@ -161,13 +550,29 @@ public class PlaywrightExtension implements BeforeEachCallback, AfterEachCallbac
         @SuppressWarnings("unused")
         private Path screenshotPath; // оставляем ссылку, если тесту нужно будет обработать файл вручную
         @SuppressWarnings("unused")
-        private Path tracePath; // пригодится при отладке, если нужно будет прочитать путь из стора
+        private List<Path> tracePaths = List.of(); // пригодится при отладке, если нужно будет прочитать путь из стора
+    }
+
+    private DiagnosticsMode diagnosticsMode() {
+        return ConfigurationManager.configuration().diagnosticsMode();
+    }
+
+    private String testId(ExtensionContext context) {
+        return FileSystemSupport.sanitizeFileName(context.getUniqueId()); // аккуратный идентификатор, чтобы назвать файлы
+    }
+
+    private String startedKey(ExtensionContext context) {
+        return context.getUniqueId() + "-started";
     }
 
     private String sessionKey(ExtensionContext context) {
         return context.getUniqueId() + "-session";
     }
 
+    private String slotKey(ExtensionContext context) {
+        return context.getUniqueId() + "-slot";
+    }
+
     private String artifactsKey(ExtensionContext context) {
         return context.getUniqueId() + "-artifacts";
     }
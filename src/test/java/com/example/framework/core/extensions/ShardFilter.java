@@ -0,0 +1,39 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.FrameworkConfig;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps only the tests of shard {@code shard.index} out of {@code shard.total}; registered through
+ * {@code META-INF/services}, so it applies to runner suites and plain test classes alike.
+ * Every shard computes the same {@link ShardPlan} from the full discovered tree, so shards never overlap.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private final Map<UniqueId, Set<UniqueId>> assignedByRoot = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        FrameworkConfig config = ConfigurationManager.configuration();
+        if (config.shardTotal() <= 1 || !ShardPlan.isPlannable(descriptor)) {
+            return FilterResult.included("not sharded");
+        }
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        TestDescriptor engine = root;
+        Set<UniqueId> assigned = assignedByRoot.computeIfAbsent(root.getUniqueId(), id -> ShardPlan.assign(engine, config)); // план считаем по полному дереву, до фильтрации
+        return assigned.contains(descriptor.getUniqueId())
+                ? FilterResult.included("shard " + config.shardIndex() + "/" + config.shardTotal())
+                : FilterResult.excluded("assigned to another shard");
+    }
+}
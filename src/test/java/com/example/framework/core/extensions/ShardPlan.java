@@ -0,0 +1,111 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.metrics.DurationHistory;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deterministic assignment of test methods to shards. With a duration history the tests are bin-packed greedily,
+ * longest first, onto the least loaded shard; without one they are spread by a hash of the test id.
+ */
+final class ShardPlan {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardPlan.class);
+    private static final Map<String, Long> PREDICTED = new ConcurrentHashMap<>(); // тесты текущего шарда → прогноз, мс
+    private static final Map<String, long[]> LOADS = new ConcurrentHashMap<>(); // движок → прогноз по всем шардам
+    private static volatile String strategy = "none";
+
+    private ShardPlan() {
+    }
+
+    /**
+     * Test methods and test templates are the unit of sharding; their invocations follow them.
+     */
+    static boolean isPlannable(TestDescriptor descriptor) {
+        return descriptor.getSource().filter(MethodSource.class::isInstance).isPresent();
+    }
+
+    static Set<UniqueId> assign(TestDescriptor root, FrameworkConfig config) {
+        List<Candidate> tests = root.getDescendants().stream()
+                .filter(ShardPlan::isPlannable)
+                .map(ShardPlan::candidate)
+                .sorted(Comparator.comparingLong(Candidate::predictedMs).reversed()
+                        .thenComparing(candidate -> candidate.id().toString())) // одинаковый порядок во всех шардах
+                .toList();
+        boolean byDuration = DurationHistory.hasHistory();
+        int total = config.shardTotal();
+        int own = config.shardIndex() - 1;
+        int[] shards = distribute(tests, total, byDuration);
+        long[] loads = new long[total];
+        Set<UniqueId> assigned = new HashSet<>();
+        for (int i = 0; i < tests.size(); i++) {
+            Candidate test = tests.get(i);
+            loads[shards[i]] += test.predictedMs();
+            if (shards[i] == own) {
+                assigned.add(test.id());
+                PREDICTED.put(test.id().toString(), test.predictedMs());
+            }
+        }
+        strategy = byDuration ? "duration" : "hash";
+        LOADS.put(root.getUniqueId().toString(), loads);
+        LOG.info("Шард {}/{} ({}): движок {}, тестов {} из {}, прогноз {} мс, прогноз по шардам {}",
+                config.shardIndex(), total, strategy, root.getDisplayName(), assigned.size(), tests.size(), loads[own], Arrays.toString(loads));
+        return assigned;
+    }
+
+    static Map<String, Long> predicted() {
+        return PREDICTED;
+    }
+
+    static Map<String, long[]> loads() {
+        return LOADS;
+    }
+
+    static String strategy() {
+        return strategy;
+    }
+
+    /**
+     * Zero-based shard of every test, in the order given; {@code tests} must already be sorted longest first.
+     */
+    static int[] distribute(List<Candidate> tests, int total, boolean byDuration) {
+        long[] loads = new long[total];
+        int[] shards = new int[tests.size()];
+        for (int i = 0; i < shards.length; i++) {
+            Candidate test = tests.get(i);
+            shards[i] = byDuration ? leastLoaded(loads) : Math.floorMod(test.id().toString().hashCode(), total);
+            loads[shards[i]] += test.predictedMs();
+        }
+        return shards;
+    }
+
+    private static Candidate candidate(TestDescriptor descriptor) {
+        MethodSource source = (MethodSource) descriptor.getSource().orElseThrow();
+        return new Candidate(descriptor.getUniqueId(), DurationHistory.estimateMillis(source.getJavaClass(), source.getJavaMethod()));
+    }
+
+    private static int leastLoaded(long[] loads) {
+        int best = 0;
+        for (int shard = 1; shard < loads.length; shard++) {
+            if (loads[shard] < loads[best]) {
+                best = shard;
+            }
+        }
+        return best;
+    }
+
+    record Candidate(UniqueId id, long predictedMs) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.framework.core.extensions;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.UniqueId;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Distribution of tests over shards.
+ */
+class ShardPlanTest {
+
+    @Test
+    @DisplayName("With history the longest tests go first to the least loaded shard")
+    void binPacking() {
+        List<ShardPlan.Candidate> tests = candidates(50, 40, 30, 20, 10);
+
+        int[] shards = ShardPlan.distribute(tests, 2, true);
+
+        assertArrayEquals(new int[]{0, 1, 1, 0, 0}, shards); // 50 | 40+30 | 50+20 | равные — первый шард
+        assertArrayEquals(new long[]{80, 70}, loads(tests, shards, 2));
+    }
+
+    @Test
+    @DisplayName("Bin packing keeps shards within the longest test of each other")
+    void balancedLoads() {
+        List<ShardPlan.Candidate> tests = candidates(LongStream.rangeClosed(1, 40)
+                .map(i -> i * 37 % 101 + 1) // разные длительности в перемешанном порядке
+                .boxed()
+                .sorted(Comparator.reverseOrder())
+                .mapToLong(Long::longValue)
+                .toArray());
+
+        long[] loads = loads(tests, ShardPlan.distribute(tests, 3, true), 3);
+
+        long spread = Arrays.stream(loads).max().orElseThrow() - Arrays.stream(loads).min().orElseThrow();
+        assertTrue(spread <= tests.getFirst().predictedMs(), () -> "unbalanced shards " + Arrays.toString(loads));
+    }
+
+    @Test
+    @DisplayName("Without history a test's shard depends only on its id")
+    void hashFallback() {
+        List<ShardPlan.Candidate> tests = candidates(50, 40, 30, 20, 10);
+        List<ShardPlan.Candidate> reweighted = tests.stream().map(test -> new ShardPlan.Candidate(test.id(), 1)).toList();
+
+        int[] shards = ShardPlan.distribute(tests, 3, false);
+
+        assertArrayEquals(shards, ShardPlan.distribute(reweighted, 3, false));
+        for (int i = 0; i < tests.size(); i++) {
+            assertEquals(Math.floorMod(tests.get(i).id().toString().hashCode(), 3), shards[i]);
+        }
+    }
+
+    private static List<ShardPlan.Candidate> candidates(long... predictedMs) {
+        UniqueId engine = UniqueId.forEngine("junit-jupiter");
+        return IntStream.range(0, predictedMs.length)
+                .mapToObj(i -> new ShardPlan.Candidate(engine.append("method", "test" + i + "()"), predictedMs[i]))
+                .toList();
+    }
+
+    private static long[] loads(List<ShardPlan.Candidate> tests, int[] shards, int total) {
+        long[] loads = new long[total];
+        for (int i = 0; i < shards.length; i++) {
+            loads[shards[i]] += tests.get(i).predictedMs();
+        }
+        return loads;
+    }
+}
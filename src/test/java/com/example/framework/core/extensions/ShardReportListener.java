@@ -0,0 +1,102 @@
+package com.example.framework.core.extensions;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.support.FileSystemSupport;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes {@code shard-<index>-of-<total>.json} with the predicted and actual time of the shard and of each of its tests.
+ */
+public class ShardReportListener implements TestExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardReportListener.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Map<String, Long> startedNanos = new ConcurrentHashMap<>();
+    private final Map<String, Long> actualMs = new ConcurrentHashMap<>();
+    private volatile long planStartedNanos;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        planStartedNanos = System.nanoTime();
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (ShardPlan.predicted().containsKey(testIdentifier.getUniqueId())) {
+            startedNanos.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long started = startedNanos.remove(testIdentifier.getUniqueId());
+        if (started != null) {
+            actualMs.put(testIdentifier.getUniqueId(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        FrameworkConfig config = ConfigurationManager.configuration();
+        if (config.shardTotal() <= 1) {
+            return;
+        }
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - planStartedNanos);
+        List<TestTiming> tests = new ArrayList<>();
+        ShardPlan.predicted().forEach((id, predicted) -> tests.add(new TestTiming(id, predicted, actualMs.get(id))));
+        long predictedMs = tests.stream().mapToLong(TestTiming::predictedMs).sum();
+        long actualTestsMs = tests.stream().map(TestTiming::actualMs).filter(Objects::nonNull).mapToLong(Long::longValue).sum();
+        Report report = new Report(Instant.now().toString(), config.shardIndex(), config.shardTotal(), ShardPlan.strategy(),
+                predictedMs, actualTestsMs, wallMs, ShardPlan.loads(), tests);
+
+        Path target = config.shardReportDir().resolve("shard-" + config.shardIndex() + "-of-" + config.shardTotal() + ".json");
+        FileSystemSupport.ensureDirectory(target.getParent());
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            GSON.toJson(report, writer);
+        } catch (IOException e) {
+            LOG.error("Не удалось записать отчёт шарда в {}: {}", target, e.getMessage(), e);
+            return;
+        }
+        LOG.info("Шард {}/{}: тестов={}, прогноз={} мс, факт={} мс (сумма длительностей тестов), время прогона={} мс, отчёт {}",
+                config.shardIndex(), config.shardTotal(), tests.size(), predictedMs, actualTestsMs, wallMs, target);
+    }
+
+    /**
+     * Predicted and actual time of one test; {@code actualMs} is {@code null} for tests that did not run.
+     */
+    private record TestTiming(String id, long predictedMs, Long actualMs) {
+    }
+
+    private record Report(String generatedAt,
+                          int shardIndex,
+                          int shardTotal,
+                          String strategy,
+                          long predictedMs,
+                          long actualMs,
+                          long wallMs,
+                          Map<String, long[]> predictedLoadsMs,
+                          List<TestTiming> tests) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.framework.core.fixtures;
+
+import com.google.gson.Gson;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process HTTP server on an ephemeral loopback port that mirrors the DOM contract of the UFC search flow
+ * used by the page objects: search toggle, search input, autocomplete items, {@code #answers-frame} and the
+ * {@code HitchhikerEventStandard} date cards. Started once per JVM; every request is handled on a virtual thread.
+ * <p>
+ * {@code latency} and {@code results} query parameters override the configured artificial latency and card count.
+ */
+public final class FixtureServer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FixtureServer.class);
+    private static final String FIXTURES = "fixtures/ufc/";
+    private static final Gson GSON = new Gson();
+    private static final List<String> SUGGESTIONS = List.of("Турниры UFC", "Бойцы UFC", "Новости UFC", "Билеты на турниры");
+    private static final String[] MONTHS = {"января", "февраля", "марта", "апреля", "мая", "июня",
+            "июля", "августа", "сентября", "октября", "ноября", "декабря"};
+    private static final LongAdder REQUESTS = new LongAdder();
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static URI baseUri;
+
+    private FixtureServer() {
+    }
+
+    /**
+     * Starts the server unless it is already running and returns its base URI, e.g. {@code http://127.0.0.1:41234/}.
+     */
+    public static synchronized URI start(int latencyMs, int results) {
+        if (server != null) {
+            return baseUri;
+        }
+        String index = resource("index.html");
+        String answers = resource("answers.html");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0); // порт выбирает ОС
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start fixture server", e);
+        }
+        server.createContext("/", exchange -> handle(exchange, latencyMs, query -> switch (exchange.getRequestURI().getPath()) {
+            case "/", "/index.html" -> Response.html(index);
+            case "/suggest" -> Response.json(GSON.toJson(SUGGESTIONS));
+            case "/answers" -> Response.html(answers
+                    .replace("{{query}}", escape(query.getOrDefault("query", "")))
+                    .replace("{{cards}}", cards(intParameter(query, "results", results), "relevance")));
+            case "/v2/accounts/me/answers/vertical/query" -> Response.html(cards(intParameter(query, "results", results),
+                    query.getOrDefault("sort", "relevance"))); // путь как у поискового API живого сайта
+            default -> Response.notFound();
+        }));
+        executor = Executors.newVirtualThreadPerTaskExecutor(); // задержка не занимает платформенные потоки
+        server.setExecutor(executor);
+        server.start();
+        baseUri = URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/");
+        Runtime.getRuntime().addShutdownHook(new Thread(FixtureServer::stop, "fixture-server-stop"));
+        LOG.info("Локальный фикстурный сервер запущен на {} (задержка={} мс, карточек={})", baseUri, latencyMs, results);
+        return baseUri;
+    }
+
+    /**
+     * Stops the server. Intended to be called once all tests have finished.
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.close();
+        LOG.info("Фикстурный сервер {} остановлен, обработано запросов: {}", baseUri, REQUESTS.sum());
+        server = null;
+        executor = null;
+    }
+
+    private static void handle(HttpExchange exchange, int latencyMs, ResponseFactory factory) throws IOException {
+        try (exchange) {
+            REQUESTS.increment();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            long delay = intParameter(query, "latency", latencyMs);
+            if (delay > 0) {
+                Thread.sleep(delay); // искусственная задержка сети
+            }
+            Response response = factory.create(query);
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", response.contentType());
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String cards(int count, String sort) {
+        List<LocalDate> dates = new ArrayList<>(count);
+        LocalDate first = LocalDate.of(2015, 1, 1);
+        for (int i = 0; i < count; i++) {
+            dates.add(first.plusDays(i * 7L)); // уникальные даты, чтобы порядок сортировки был однозначным
+        }
+        Collections.shuffle(dates, new Random(count)); // стабильный, но неотсортированный порядок
+        if (count > 1 && dates.get(0).isBefore(dates.get(count - 1))) {
+            Collections.swap(dates, 0, count - 1); // иначе проверка сортировки могла бы пройти без нажатия «Применить»
+        }
+        switch (sort) {
+            case "old-new" -> dates.sort(Comparator.naturalOrder());
+            case "new-old" -> dates.sort(Comparator.reverseOrder());
+            default -> {
+                // relevance: порядок выдачи
+            }
+        }
+        StringBuilder html = new StringBuilder();
+        for (int i = 0; i < dates.size(); i++) {
+            LocalDate date = dates.get(i);
+            html.append("<article class=\"HitchhikerEventStandard\" data-date=\"").append(date).append("\">")
+                    .append("<div class=\"HitchhikerEventStandard-dateInnerWrapper\">")
+                    .append("<span class=\"HitchhikerEventStandard-day\">").append(date.getDayOfMonth()).append("</span> ")
+                    .append("<span class=\"HitchhikerEventStandard-month\">").append(MONTHS[date.getMonthValue() - 1]).append("</span> ")
+                    .append("<span class=\"HitchhikerEventStandard-year\">").append(date.getYear()).append("</span>")
+                    .append("</div>")
+                    .append("<h3 class=\"HitchhikerEventStandard-title\">UFC Fight Night ").append(i + 1).append("</h3>")
+                    .append("</article>\n");
+        }
+        return html.toString();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isBlank()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue) {
+        try {
+            return query.containsKey(name) ? Math.max(0, Integer.parseInt(query.get(name))) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static String resource(String name) {
+        try (InputStream stream = Thread.currentThread().getContextClassLoader().getResourceAsStream(FIXTURES + name)) {
+            if (stream == null) {
+                throw new IllegalStateException("Fixture resource not found: " + FIXTURES + name);
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read fixture resource " + FIXTURES + name, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseFactory {
+        Response create(Map<String, String> query);
+    }
+
+    private record Response(int status, String contentType, String body) {
+
+        static Response html(String body) {
+            return new Response(200, "text/html; charset=utf-8", body);
+        }
+
+        static Response json(String body) {
+            return new Response(200, "application/json; charset=utf-8", body);
+        }
+
+        static Response notFound() {
+            return new Response(404, "text/plain; charset=utf-8", "Not found");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.framework.core.metrics;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.support.FileLocks;
+import com.example.framework.tags.annotations.Slow;
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Wall-clock durations of tests kept between runs in {@code duration.history.file}.
+ * Durations of finished tests are buffered in memory; at the end of the run they are merged into the file under
+ * a file lock, so surefire forks may save concurrently, and the file is rewritten with one smoothed value per test.
+ */
+public final class DurationHistory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DurationHistory.class);
+    private static final double SMOOTHING = 0.3; // вес последнего прогона в скользящем среднем
+    private static final ConcurrentLinkedQueue<String> PENDING = new ConcurrentLinkedQueue<>();
+    private static volatile Estimates estimates;
+
+    private DurationHistory() {
+    }
+
+    /**
+     * History key of a test method; matrix invocations append {@code [engine]}.
+     */
+    public static String key(Class<?> testClass, Method method) {
+        return testClass.getName() + "#" + method.getName();
+    }
+
+    /**
+     * Remembers the duration of a finished test until {@link #save()}; never touches the disk.
+     */
+    public static void record(String key, Duration elapsed) {
+        PENDING.add(key + "\t" + elapsed.toMillis()); // запись в файл — один раз в конце прогона, а не в afterEach
+    }
+
+    /**
+     * Expected duration of a test method, summed over its matrix invocations.
+     * Tests without history get the median of known tests; {@link Slow} ones get the longest known duration.
+     */
+    public static long estimateMillis(Class<?> testClass, Method method) {
+        Estimates current = estimates();
+        Long recorded = current.perMethod().get(key(testClass, method));
+        if (recorded != null) {
+            return recorded;
+        }
+        boolean slow = AnnotationSupport.isAnnotated(method, Slow.class) || AnnotationSupport.isAnnotated(testClass, Slow.class);
+        return slow ? current.longestMillis() : current.medianMillis();
+    }
+
+    /**
+     * Expected duration of all test methods declared in (or inherited by) {@code testClass}.
+     */
+    public static long estimateMillis(Class<?> testClass) {
+        return AnnotationSupport.findAnnotatedMethods(testClass, Testable.class, HierarchyTraversalMode.TOP_DOWN).stream()
+                .mapToLong(method -> estimateMillis(testClass, method))
+                .sum();
+    }
+
+    /**
+     * Whether any previous run has been recorded.
+     */
+    public static boolean hasHistory() {
+        return !estimates().perMethod().isEmpty();
+    }
+
+    /**
+     * Merges the durations recorded in this run into the history file, one smoothed line per test.
+     * Intended to be called once all tests have finished.
+     */
+    public static void save() {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+        Path file = ConfigurationManager.configuration().durationHistoryFile();
+        List<String> recorded = List.copyOf(PENDING);
+        try {
+            FileLocks.run(file.resolveSibling(file.getFileName() + ".lock"), () -> {
+                List<String> lines = new ArrayList<>();
+                if (Files.isRegularFile(file)) {
+                    lines.addAll(Files.readAllLines(file, StandardCharsets.UTF_8)); // форки дописывают свои замеры по очереди
+                }
+                lines.addAll(recorded);
+                Map<String, Long> smoothed = smooth(lines);
+                StringBuilder content = new StringBuilder();
+                smoothed.forEach((key, millis) -> content.append(key).append('\t').append(millis).append('\n'));
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.writeString(temp, content, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                LOG.info("История длительностей {} обновлена: тестов={}, новых замеров={}", file, smoothed.size(), recorded.size());
+            });
+            PENDING.removeAll(recorded);
+        } catch (IOException e) {
+            LOG.warn("Не удалось сохранить историю длительностей в {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Estimates estimates() {
+        Estimates loaded = estimates;
+        if (loaded == null) {
+            synchronized (DurationHistory.class) {
+                if (estimates == null) {
+                    estimates = load(ConfigurationManager.configuration()); // историю читаем один раз за JVM, до начала записи
+                }
+                loaded = estimates;
+            }
+        }
+        return loaded;
+    }
+
+    private static Estimates load(FrameworkConfig config) {
+        Path file = config.durationHistoryFile();
+        Map<String, Long> perMethod = new HashMap<>();
+        if (Files.isRegularFile(file)) {
+            try {
+                smooth(Files.readAllLines(file, StandardCharsets.UTF_8)).forEach((key, millis) -> {
+                    int matrixSuffix = key.indexOf('[');
+                    perMethod.merge(matrixSuffix < 0 ? key : key.substring(0, matrixSuffix), millis, Long::sum); // вызовы матрицы складываем
+                });
+            } catch (IOException e) {
+                LOG.warn("Не удалось прочитать историю длительностей {}: {}", file, e.getMessage());
+            }
+        }
+        long[] sorted = perMethod.values().stream().mapToLong(Long::longValue).sorted().toArray();
+        long median = sorted.length == 0 ? config.durationDefaultMs() : sorted[sorted.length / 2];
+        long longest = sorted.length == 0 ? config.durationDefaultMs() : sorted[sorted.length - 1];
+        LOG.info("История длительностей {}: известно тестов={}, медиана={} мс, максимум={} мс", file, perMethod.size(), median, longest);
+        return new Estimates(Map.copyOf(perMethod), median, longest);
+    }
+
+    /**
+     * Folds {@code key<TAB>millis} lines, oldest first, into an exponential moving average per key; broken lines are skipped.
+     */
+    static Map<String, Long> smooth(List<String> lines) {
+        Map<String, Long> smoothed = new LinkedHashMap<>();
+        for (String line : lines) {
+            int separator = line.lastIndexOf('\t');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                long millis = Long.parseLong(line.substring(separator + 1).trim());
+                smoothed.merge(line.substring(0, separator), millis,
+                        (previous, latest) -> Math.round(previous * (1 - SMOOTHING) + latest * SMOOTHING));
+            } catch (NumberFormatException ignored) {
+                // повреждённую строку (например, оборванную при падении JVM) пропускаем
+            }
+        }
+        return smoothed;
+    }
+
+    private record Estimates(Map<String, Long> perMethod, long medianMillis, long longestMillis) {
+    }
+}
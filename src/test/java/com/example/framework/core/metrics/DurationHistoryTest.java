@@ -0,0 +1,40 @@
+package com.example.framework.core.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Smoothing of the duration history file.
+ */
+class DurationHistoryTest {
+
+    @Test
+    @DisplayName("Later runs move the estimate by 30%")
+    void exponentialMovingAverage() {
+        Map<String, Long> smoothed = DurationHistory.smooth(List.of("A#test\t1000", "A#test\t2000", "A#test\t2000"));
+
+        assertEquals(Map.of("A#test", 1_510L), smoothed); // 1000 -> 1300 -> 1510
+    }
+
+    @Test
+    @DisplayName("Keys keep their first-seen order, matrix suffixes stay separate")
+    void keysInFileOrder() {
+        Map<String, Long> smoothed = DurationHistory.smooth(List.of("B#b[firefox]\t10", "A#a\t20", "B#b[chromium]\t30", "A#a\t20"));
+
+        assertEquals(List.of("B#b[firefox]", "A#a", "B#b[chromium]"), List.copyOf(smoothed.keySet()));
+        assertEquals(20L, smoothed.get("A#a"));
+    }
+
+    @Test
+    @DisplayName("Broken lines are skipped")
+    void brokenLines() {
+        Map<String, Long> smoothed = DurationHistory.smooth(List.of("", "no separator", "\t15", "A#a\tabc", "A#a\t4", "A#a\t"));
+
+        assertEquals(Map.of("A#a", 4L), smoothed);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.framework.core.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bucket arithmetic of {@link LatencyHistogram}.
+ */
+class LatencyHistogramTest {
+
+    private static final long[] SAMPLES = {16, 17, 31, 32, 33, 100, 1_000, 1_023, 1_024, 65_535, 1_000_000, 123_456_789L, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+
+    @Test
+    @DisplayName("Values below 16 µs get their own exact bucket")
+    void smallValuesAreExact() {
+        for (long value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.indexOf(value));
+            assertEquals(value, LatencyHistogram.upperBound((int) value));
+        }
+    }
+
+    @Test
+    @DisplayName("Every value lies inside its bucket, and the bucket is at most 1/16 of the value wide")
+    void bucketContainsValue() {
+        for (long value : SAMPLES) {
+            int index = LatencyHistogram.indexOf(value);
+            long upper = LatencyHistogram.upperBound(index);
+            assertTrue(upper >= value, () -> "upper bound " + upper + " below " + value);
+            assertTrue(LatencyHistogram.upperBound(index - 1) < value, () -> "previous bucket already holds " + value);
+            assertTrue(upper - value <= value / 16, () -> "bucket of " + value + " too wide: " + upper);
+        }
+    }
+
+    @Test
+    @DisplayName("Bucket indexes never decrease with the value and the largest value fits the last bucket")
+    void indexesAreMonotonic() {
+        int previous = 0;
+        for (long value : SAMPLES) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index >= previous, () -> "index of " + value + " decreased"); // соседние значения могут делить бакет
+            previous = index;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Percentiles are bucket upper bounds capped by the maximum")
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(micros);
+        }
+        assertEquals(1_000, histogram.count());
+        assertEquals(1_000, histogram.max());
+        assertEquals(1_000, histogram.percentile(1.0));
+        long p50 = histogram.percentile(0.50);
+        assertTrue(p50 >= 500 && p50 <= 500 + 500 / 16, () -> "p50 " + p50);
+        assertEquals(0, new LatencyHistogram().percentile(0.99));
+    }
+}
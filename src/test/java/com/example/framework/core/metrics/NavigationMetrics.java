@@ -0,0 +1,252 @@
+package com.example.framework.core.metrics;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.SessionState;
+import com.example.framework.core.support.FileSystemSupport;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.LoadState;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads Navigation Timing, resource totals and Web Vitals from the page after a navigation
+ * and aggregates them per URL across the whole run.
+ */
+public final class NavigationMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NavigationMetrics.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Map<String, UrlAggregate> BY_URL = new ConcurrentHashMap<>();
+    private static final SessionState.Key<ConcurrentLinkedQueue<PageVitals>> SAMPLES = new SessionState.Key<>("navigation vitals");
+    private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(5);
+    // буферизованные PerformanceObserver отдают уже случившиеся LCP/сдвиги/события, поэтому init-скрипт не нужен
+    private static final String COLLECT_SCRIPT = """
+            () => new Promise(resolve => {
+              const nav = performance.getEntriesByType('navigation')[0];
+              const resources = performance.getEntriesByType('resource');
+              const vitals = {lcp: null, cls: null, inp: null};
+              const observers = [];
+              const observe = (type, handler, extra) => {
+                try {
+                  const observer = new PerformanceObserver(list => list.getEntries().forEach(handler));
+                  observer.observe(Object.assign({type, buffered: true}, extra));
+                  observers.push(observer);
+                } catch (e) {
+                  // тип не поддерживается браузером (например, в Firefox/WebKit)
+                }
+              };
+              observe('largest-contentful-paint', entry => vitals.lcp = entry.startTime);
+              observe('layout-shift', entry => {
+                if (!entry.hadRecentInput) {
+                  vitals.cls = (vitals.cls || 0) + entry.value;
+                }
+              });
+              observe('event', entry => vitals.inp = Math.max(vitals.inp || 0, entry.duration), {durationThreshold: 16});
+              setTimeout(() => {
+                observers.forEach(observer => observer.disconnect());
+                const positive = value => value > 0 ? value : null;
+                resolve({
+                  ttfb: nav ? positive(nav.responseStart) : null,
+                  domContentLoaded: nav ? positive(nav.domContentLoadedEventEnd) : null,
+                  load: nav ? positive(nav.loadEventEnd) : null,
+                  lcp: vitals.lcp,
+                  cls: vitals.cls,
+                  inp: vitals.inp,
+                  transferBytes: (nav ? nav.transferSize : 0) + resources.reduce((sum, entry) => sum + (entry.transferSize || 0), 0),
+                  resourceCount: resources.length
+                });
+              }, 0);
+            })
+            """;
+
+    private NavigationMetrics() {
+    }
+
+    /**
+     * Enables collection for {@code page} even when {@code perf.vitals.enabled=false}, e.g. for performance budgets.
+     */
+    public static void track(Page page) {
+        SessionState.of(page).computeIfAbsent(SAMPLES, ConcurrentLinkedQueue::new);
+    }
+
+    /**
+     * Removes and returns the navigations collected for {@code page}, in order.
+     */
+    public static List<PageVitals> drain(Page page) {
+        return SessionState.find(page)
+                .map(state -> state.remove(SAMPLES))
+                .<List<PageVitals>>map(List::copyOf)
+                .orElse(List.of());
+    }
+
+    /**
+     * Collects metrics of the document currently loaded in {@code page} when {@code perf.vitals.enabled=true}
+     * or the page is {@linkplain #track tracked}; attaches them to the current Allure step. Collection problems never fail the test.
+     * Navigations usually return at DOMContentLoaded, so the load event is awaited (at most {@link #LOAD_TIMEOUT})
+     * first; otherwise load, LCP and transferred bytes would be read before the page finished loading.
+     */
+    public static Optional<PageVitals> collect(Page page) {
+        boolean tracked = SessionState.find(page).map(state -> state.get(SAMPLES)).isPresent();
+        if (!ConfigurationManager.configuration().vitalsEnabled() && !tracked) {
+            return Optional.empty();
+        }
+        PageVitals vitals;
+        try {
+            awaitLoad(page);
+            vitals = toVitals(normalize(page.url()), page.evaluate(COLLECT_SCRIPT));
+        } catch (PlaywrightException e) {
+            LOG.warn("Не удалось снять метрики навигации для {}: {}", page.url(), e.getMessage());
+            return Optional.empty();
+        }
+        BY_URL.computeIfAbsent(vitals.url(), key -> new UrlAggregate()).add(vitals);
+        SessionState.of(page).computeIfAbsent(SAMPLES, ConcurrentLinkedQueue::new).add(vitals);
+        Allure.addAttachment("Navigation timing", "text/plain", vitals.describe(), ".txt");
+        LOG.info("Метрики навигации {}: TTFB={} мс, DCL={} мс, LCP={} мс, CLS={}, передано {} КБ",
+                vitals.url(), vitals.ttfbMs(), vitals.domContentLoadedMs(), vitals.lcpMs(), vitals.cls(), vitals.transferBytes() / 1024);
+        return Optional.of(vitals);
+    }
+
+    /**
+     * Writes per-URL aggregates to {@code perf.vitals.report}.
+     */
+    public static void writeReport() {
+        if (BY_URL.isEmpty()) {
+            return;
+        }
+        FrameworkConfig config = ConfigurationManager.configuration();
+        Map<String, UrlSummary> summary = new TreeMap<>();
+        BY_URL.forEach((url, aggregate) -> summary.put(url, aggregate.summary()));
+        Path target = config.vitalsReport();
+        FileSystemSupport.ensureDirectory(target.getParent());
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            GSON.toJson(Map.of("generatedAt", Instant.now().toString(), "urls", summary), writer);
+        } catch (IOException e) {
+            LOG.error("Не удалось записать отчёт по метрикам навигации в {}: {}", target, e.getMessage(), e);
+            return;
+        }
+        summary.forEach((url, item) -> LOG.info("Навигация {}: загрузок={}, TTFB p90={} мс, DCL p90={} мс, LCP p90={} мс, INP p90={} мс, CLS max={}, в среднем {} КБ",
+                url, item.navigations(), item.ttfbP90Ms(), item.domContentLoadedP90Ms(), item.lcpP90Ms(), item.inpP90Ms(), item.clsMax(), item.averageTransferBytes() / 1024));
+        LOG.info("Отчёт по метрикам навигации записан в {} (адресов={})", target, summary.size());
+    }
+
+    private static void awaitLoad(Page page) {
+        try {
+            page.waitForLoadState(LoadState.LOAD, new Page.WaitForLoadStateOptions().setTimeout(LOAD_TIMEOUT.toMillis()));
+        } catch (PlaywrightException e) {
+            LOG.debug("Событие load для {} не наступило за {} мс, снимаем метрики как есть", page.url(), LOAD_TIMEOUT.toMillis()); // неполная загрузка тоже результат
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PageVitals toVitals(String url, Object raw) {
+        Map<String, Object> values = (Map<String, Object>) raw;
+        return new PageVitals(
+                url,
+                number(values.get("ttfb")),
+                number(values.get("domContentLoaded")),
+                number(values.get("load")),
+                number(values.get("lcp")),
+                number(values.get("cls")),
+                number(values.get("inp")),
+                Optional.ofNullable(number(values.get("transferBytes"))).map(Double::longValue).orElse(0L),
+                Optional.ofNullable(number(values.get("resourceCount"))).map(Double::intValue).orElse(0)
+        );
+    }
+
+    private static Double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : null;
+    }
+
+    private static String normalize(String url) {
+        try {
+            URI uri = URI.create(url);
+            return new URI(uri.getScheme(), uri.getAuthority(), uri.getPath(), null, null).toString(); // query и якорь не делят статистику
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    /**
+     * Aggregated metrics of one URL; timings are p90 across the run, in milliseconds.
+     */
+    public record UrlSummary(long navigations,
+                             double ttfbP90Ms,
+                             double domContentLoadedP90Ms,
+                             double loadP90Ms,
+                             double lcpP90Ms,
+                             double inpP90Ms,
+                             double clsMax,
+                             long averageTransferBytes) {
+    }
+
+    private static final class UrlAggregate {
+
+        private final LatencyHistogram ttfb = new LatencyHistogram();
+        private final LatencyHistogram domContentLoaded = new LatencyHistogram();
+        private final LatencyHistogram load = new LatencyHistogram();
+        private final LatencyHistogram lcp = new LatencyHistogram();
+        private final LatencyHistogram inp = new LatencyHistogram();
+        private final AtomicLong clsMaxMicros = new AtomicLong(); // CLS * 10^6, чтобы хранить максимум без блокировок
+        private final LongAdder navigations = new LongAdder();
+        private final LongAdder transferBytes = new LongAdder();
+
+        private void add(PageVitals vitals) {
+            navigations.increment();
+            transferBytes.add(vitals.transferBytes());
+            record(ttfb, vitals.ttfbMs());
+            record(domContentLoaded, vitals.domContentLoadedMs());
+            record(load, vitals.loadMs());
+            record(lcp, vitals.lcpMs());
+            record(inp, vitals.inpMs());
+            if (vitals.cls() != null) {
+                clsMaxMicros.accumulateAndGet(Math.round(vitals.cls() * 1_000_000), Math::max);
+            }
+        }
+
+        private static void record(LatencyHistogram histogram, Double millis) {
+            if (millis != null) {
+                histogram.record(Math.round(millis * 1_000));
+            }
+        }
+
+        private UrlSummary summary() {
+            long count = navigations.sum();
+            return new UrlSummary(
+                    count,
+                    p90(ttfb),
+                    p90(domContentLoaded),
+                    p90(load),
+                    p90(lcp),
+                    p90(inp),
+                    clsMaxMicros.get() / 1_000_000.0,
+                    count == 0 ? 0 : transferBytes.sum() / count
+            );
+        }
+
+        private static double p90(LatencyHistogram histogram) {
+            return Math.round(histogram.percentile(0.90) / 100.0) / 10.0;
+        }
+    }
+}
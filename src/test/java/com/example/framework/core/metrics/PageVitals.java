@@ -0,0 +1,45 @@
+package com.example.framework.core.metrics;
+
+import java.util.Locale;
+
+/**
+ * Front-end timings of one navigation as reported by the browser; {@code null} when the browser has no value yet.
+ *
+ * @param url               navigated URL (without query and fragment)
+ * @param ttfbMs            time to first byte of the document
+ * @param domContentLoadedMs end of the {@code DOMContentLoaded} event
+ * @param loadMs            end of the {@code load} event
+ * @param lcpMs             largest contentful paint
+ * @param cls               cumulative layout shift
+ * @param inpMs             longest event-handling duration observed so far (INP-style)
+ * @param transferBytes     bytes transferred for the document and its resources
+ * @param resourceCount     number of resource timing entries
+ */
+public record PageVitals(String url,
+                         Double ttfbMs,
+                         Double domContentLoadedMs,
+                         Double loadMs,
+                         Double lcpMs,
+                         Double cls,
+                         Double inpMs,
+                         long transferBytes,
+                         int resourceCount) {
+
+    /**
+     * Load end, or DOMContentLoaded end when the load event has not finished yet.
+     */
+    public Double navigationMs() {
+        return loadMs != null ? loadMs : domContentLoadedMs;
+    }
+
+    public String describe() {
+        return String.format(Locale.ROOT,
+                "URL: %s%nTTFB: %s ms%nDOMContentLoaded: %s ms%nLoad: %s ms%nLCP: %s ms%nCLS: %s%nINP (max event): %s ms%nTransferred: %d KB in %d resource(s)%n",
+                url, format(ttfbMs), format(domContentLoadedMs), format(loadMs), format(lcpMs), cls == null ? "n/a" : String.format(Locale.ROOT, "%.3f", cls),
+                format(inpMs), transferBytes / 1024, resourceCount);
+    }
+
+    private static String format(Double value) {
+        return value == null ? "n/a" : String.format(Locale.ROOT, "%.0f", value);
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.framework.core.metrics;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.config.StepTimeoutMode;
+import com.example.framework.core.SessionState;
+import com.example.framework.core.support.FileLocks;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.TimeoutError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Step-specific timeouts learned from the latencies of successful steps in previous runs.
+ * Latencies are buffered during the run (at most {@value #WINDOW} per step, older ones would be dropped by the merge anyway)
+ * and merged into {@code step.timeout.history.file} once at the end, keeping the last {@value #WINDOW} per step; a step with enough history gets {@code p99 x factor}, clamped to the configured bounds.
+ */
+public final class StepBudgets {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StepBudgets.class);
+    private static final int WINDOW = 200;
+    private static final Map<String, ConcurrentLinkedQueue<Long>> OBSERVED = new ConcurrentHashMap<>();
+    private static final SessionState.Key<Long> ACTIVE = new SessionState.Key<>("step budget");
+    private static volatile Map<String, Budget> budgets;
+
+    private StepBudgets() {
+    }
+
+    /**
+     * Starts a step; in {@code enforce} mode the page runs with the learned budget until {@link Scope#close()}.
+     */
+    public static Scope enter(Page page, String step) {
+        FrameworkConfig config = ConfigurationManager.configuration();
+        if (config.stepTimeoutMode() == StepTimeoutMode.OFF) {
+            return new Scope(page, step, null, false, null);
+        }
+        String key = key(step);
+        Budget budget = budgets().get(key);
+        boolean enforced = budget != null && config.stepTimeoutMode() == StepTimeoutMode.ENFORCE;
+        SessionState state = SessionState.of(page);
+        Long previous = state.get(ACTIVE);
+        if (enforced) {
+            page.setDefaultTimeout(budget.millis()); // навигация и действия шага ждут не дольше выученного бюджета
+            state.put(ACTIVE, budget.millis());
+        }
+        return new Scope(page, key, budget, enforced, previous);
+    }
+
+    /**
+     * Timeout of the step currently running on {@code page}, when a learned budget is enforced.
+     */
+    public static Optional<Duration> currentTimeout(Page page) {
+        return SessionState.find(page).map(state -> state.get(ACTIVE)).map(Duration::ofMillis);
+    }
+
+    /**
+     * Merges latencies observed in this run into the history file. Intended to be called once all tests have finished.
+     */
+    public static void save() {
+        if (OBSERVED.isEmpty()) {
+            return;
+        }
+        Path file = ConfigurationManager.configuration().stepTimeoutHistoryFile();
+        try {
+            FileLocks.run(file.resolveSibling(file.getFileName() + ".lock"), () -> {
+                Map<String, Deque<Long>> history = read(file); // форки дописывают свои замеры по очереди
+                OBSERVED.forEach((step, samples) -> {
+                    Deque<Long> window = history.computeIfAbsent(step, key -> new ArrayDeque<>());
+                    samples.forEach(millis -> append(window, millis));
+                });
+                StringBuilder content = new StringBuilder();
+                history.forEach((step, window) -> window.forEach(millis -> content.append(step).append('\t').append(millis).append('\n')));
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.writeString(temp, content, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                LOG.info("История длительности шагов {} обновлена: шагов={}, новых замеров={}", file, history.size(),
+                        OBSERVED.values().stream().mapToInt(ConcurrentLinkedQueue::size).sum());
+            });
+            OBSERVED.clear();
+        } catch (IOException e) {
+            LOG.warn("Не удалось сохранить историю длительности шагов в {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, Budget> budgets() {
+        Map<String, Budget> loaded = budgets;
+        if (loaded == null) {
+            synchronized (StepBudgets.class) {
+                if (budgets == null) {
+                    budgets = load(ConfigurationManager.configuration()); // бюджеты считаем один раз за JVM по прошлым прогонам
+                }
+                loaded = budgets;
+            }
+        }
+        return loaded;
+    }
+
+    private static Map<String, Budget> load(FrameworkConfig config) {
+        Path file = config.stepTimeoutHistoryFile();
+        if (!Files.isRegularFile(file)) {
+            LOG.info("История длительности шагов {} пока отсутствует — все шаги используют общий таймаут {} мс", file, config.timeoutMs());
+            return Map.of();
+        }
+        Map<String, Budget> result = new HashMap<>();
+        try {
+            read(file).forEach((step, window) -> {
+                if (window.size() < config.stepTimeoutMinSamples()) {
+                    return; // мало замеров — p99 ещё ничего не говорит
+                }
+                long[] sorted = window.stream().mapToLong(Long::longValue).sorted().toArray();
+                long p99 = sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+                long millis = Math.round(p99 * config.stepTimeoutFactorPct() / 100.0);
+                long clamped = Math.min(config.stepTimeoutMaxMs(), Math.max(config.stepTimeoutMinMs(), millis));
+                result.put(step, new Budget(clamped, p99, sorted.length));
+            });
+        } catch (IOException e) {
+            LOG.warn("Не удалось прочитать историю длительности шагов {}: {}", file, e.getMessage());
+        }
+        LOG.info("Выучены таймауты для {} шаг(ов) из {} (режим={}, p99 x {}%, {}..{} мс)", result.size(), file,
+                config.stepTimeoutMode(), config.stepTimeoutFactorPct(), config.stepTimeoutMinMs(), config.stepTimeoutMaxMs());
+        return Map.copyOf(result);
+    }
+
+    private static Map<String, Deque<Long>> read(Path file) throws IOException {
+        Map<String, Deque<Long>> history = new LinkedHashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            int separator = line.lastIndexOf('\t');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                long millis = Long.parseLong(line.substring(separator + 1).trim());
+                append(history.computeIfAbsent(line.substring(0, separator), key -> new ArrayDeque<>()), millis);
+            } catch (NumberFormatException ignored) {
+                // повреждённую строку пропускаем
+            }
+        }
+        return history;
+    }
+
+    private static void append(Deque<Long> window, long millis) {
+        window.addLast(millis);
+        if (window.size() > WINDOW) {
+            window.removeFirst(); // храним только свежие замеры, чтобы бюджет следовал за приложением
+        }
+    }
+
+    private static String key(String step) {
+        return step.replace('\t', ' ').replace('\n', ' ').replace('\r', ' '); // имя шага — первая колонка TSV
+    }
+
+    /**
+     * Learned timeout of a step: {@code p99Ms} over {@code samples} successful runs times the configured factor.
+     */
+    public record Budget(long millis, long p99Ms, int samples) {
+    }
+
+    /**
+     * One running step; closing it restores the timeout the page had before the step.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Page page;
+        private final String step;
+        private final Budget budget;
+        private final boolean enforced;
+        private final Long previous;
+
+        private Scope(Page page, String step, Budget budget, boolean enforced, Long previous) {
+            this.page = page;
+            this.step = step;
+            this.budget = budget;
+            this.enforced = enforced;
+            this.previous = previous;
+        }
+
+        /**
+         * Records the latency of a successful step; failed steps are not learned from.
+         */
+        public void completed(long nanos) {
+            if (ConfigurationManager.configuration().stepTimeoutMode() == StepTimeoutMode.OFF) {
+                return;
+            }
+            ConcurrentLinkedQueue<Long> samples = OBSERVED.computeIfAbsent(step, key -> new ConcurrentLinkedQueue<>());
+            samples.add(nanos / 1_000_000);
+            while (samples.size() > WINDOW) {
+                samples.poll(); // длинный прогон (или бенчмарк) не копит замеры сверх окна
+            }
+        }
+
+        /**
+         * Reports the learned budget next to the observed time; a Playwright timeout is rethrown with both in its message.
+         */
+        public Throwable failed(Throwable failure, long nanos) {
+            if (budget == null) {
+                return failure;
+            }
+            String report = "Step '%s' failed after %d ms; learned budget %d ms%s (p99 %d ms over %d runs)".formatted(
+                    step, nanos / 1_000_000, budget.millis(), enforced ? "" : " not enforced", budget.p99Ms(), budget.samples());
+            LOG.warn("Шаг '{}' упал через {} мс; выученный бюджет {} мс{} (p99 {} мс по {} прогонам)",
+                    step, nanos / 1_000_000, budget.millis(), enforced ? "" : " не применялся", budget.p99Ms(), budget.samples());
+            if (failure instanceof TimeoutError timeout) {
+                return new TimeoutError(report + ": " + timeout.getMessage(), timeout);
+            }
+            return failure;
+        }
+
+        @Override
+        public void close() {
+            if (!enforced) {
+                return;
+            }
+            int configured = ConfigurationManager.configuration().timeoutMs();
+            SessionState.of(page).put(ACTIVE, previous); // вложенный шаг возвращает бюджет внешнего, внешний — убирает свой
+            try {
+                page.setDefaultTimeout(previous == null ? configured : previous);
+            } catch (PlaywrightException e) {
+                LOG.warn("Не удалось вернуть таймаут страницы после шага '{}': {}", step, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.framework.core.metrics;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.SessionState;
+import com.example.framework.core.support.FileSystemSupport;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Run-wide latency histograms of page-object steps, shared by all workers.
+ * At the end of the run the percentiles are written as JSON and optionally compared with a baseline file.
+ */
+public final class StepLatency {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StepLatency.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final SessionState.Key<ConcurrentLinkedQueue<StepSample>> SAMPLES = new SessionState.Key<>("step samples");
+
+    private StepLatency() {
+    }
+
+    /**
+     * Records one step execution; called by {@code BasePage} around every step.
+     */
+    public static void record(Page page, String step, long nanos) {
+        long micros = nanos / 1_000;
+        HISTOGRAMS.computeIfAbsent(step, key -> new LatencyHistogram()).record(micros);
+        SessionState.of(page).computeIfAbsent(SAMPLES, ConcurrentLinkedQueue::new).add(new StepSample(step, micros));
+    }
+
+    /**
+     * Removes and returns the steps recorded for {@code page}, in execution order.
+     */
+    public static List<StepSample> drain(Page page) {
+        return SessionState.find(page)
+                .map(state -> state.remove(SAMPLES))
+                .<List<StepSample>>map(List::copyOf)
+                .orElse(List.of());
+    }
+
+    public static String describe(List<StepSample> samples) {
+        StringBuilder report = new StringBuilder();
+        samples.forEach(sample -> report.append(String.format("%10.1f ms  %s%n", sample.millis(), sample.step())));
+        return report.toString();
+    }
+
+    public static Map<String, StepSummary> snapshot() {
+        Map<String, StepSummary> summary = new TreeMap<>();
+        HISTOGRAMS.forEach((step, histogram) -> summary.put(step, StepSummary.of(histogram)));
+        return summary;
+    }
+
+    /**
+     * Writes the run summary to {@code step.latency.report} and flags steps slower than the baseline beyond the threshold.
+     */
+    public static void writeReport() {
+        if (HISTOGRAMS.isEmpty()) {
+            return;
+        }
+        FrameworkConfig config = ConfigurationManager.configuration();
+        Map<String, StepSummary> steps = snapshot();
+        List<Regression> regressions = compareWithBaseline(steps, config.stepLatencyBaseline(), config.stepLatencyThresholdPct());
+        Report report = new Report(Instant.now().toString(), steps, regressions);
+        Path target = config.stepLatencyReport();
+        FileSystemSupport.ensureDirectory(target.getParent());
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            GSON.toJson(report, writer);
+        } catch (IOException e) {
+            LOG.error("Не удалось записать отчёт по длительности шагов в {}: {}", target, e.getMessage(), e);
+            return;
+        }
+        steps.forEach((step, summary) -> LOG.info("Шаг '{}': вызовов={}, p50={} мс, p90={} мс, p99={} мс, максимум={} мс",
+                step, summary.count(), summary.p50Ms(), summary.p90Ms(), summary.p99Ms(), summary.maxMs()));
+        regressions.forEach(regression -> LOG.warn("Шаг '{}' замедлился: p90 {} мс -> {} мс (+{}%)",
+                regression.step(), regression.baselineP90Ms(), regression.currentP90Ms(), regression.changePct()));
+        LOG.info("Отчёт по длительности шагов записан в {} (шагов={}, регрессий={})", target, steps.size(), regressions.size());
+    }
+
+    private static List<Regression> compareWithBaseline(Map<String, StepSummary> current, Path baselineFile, int thresholdPct) {
+        List<Regression> regressions = new ArrayList<>();
+        if (baselineFile == null) {
+            return regressions;
+        }
+        if (!Files.isRegularFile(baselineFile)) {
+            LOG.warn("Базовый отчёт {} не найден — сравнение длительности шагов пропущено", baselineFile);
+            return regressions;
+        }
+        Report baseline;
+        try (Reader reader = Files.newBufferedReader(baselineFile, StandardCharsets.UTF_8)) {
+            baseline = GSON.fromJson(reader, Report.class);
+        } catch (IOException | JsonParseException e) {
+            LOG.warn("Не удалось прочитать базовый отчёт {}: {}", baselineFile, e.getMessage());
+            return regressions;
+        }
+        if (baseline == null || baseline.steps() == null) {
+            return regressions;
+        }
+        current.forEach((step, summary) -> {
+            StepSummary previous = baseline.steps().get(step);
+            if (previous == null || previous.p90Ms() <= 0) {
+                return; // новый шаг — сравнивать не с чем
+            }
+            double change = (summary.p90Ms() - previous.p90Ms()) * 100.0 / previous.p90Ms();
+            if (change > thresholdPct) {
+                regressions.add(new Regression(step, previous.p90Ms(), summary.p90Ms(), Math.round(change)));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * One execution of a step within a session.
+     */
+    public record StepSample(String step, long micros) {
+
+        public double millis() {
+            return micros / 1_000.0;
+        }
+    }
+
+    /**
+     * Percentiles of one step across the run, in milliseconds.
+     */
+    public record StepSummary(long count, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        private static StepSummary of(LatencyHistogram histogram) {
+            return new StepSummary(
+                    histogram.count(),
+                    toMillis(histogram.percentile(0.50)),
+                    toMillis(histogram.percentile(0.90)),
+                    toMillis(histogram.percentile(0.99)),
+                    toMillis(histogram.max())
+            );
+        }
+
+        private static double toMillis(long micros) {
+            return Math.round(micros / 100.0) / 10.0; // одна цифра после запятой
+        }
+    }
+
+    /**
+     * Step whose p90 grew beyond the configured threshold compared with the baseline run.
+     */
+    public record Regression(String step, double baselineP90Ms, double currentP90Ms, long changePct) {
+    }
+
+    private record Report(String generatedAt, Map<String, StepSummary> steps, List<Regression> regressions) {
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.framework.core.support;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.config.FrameworkConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded background writer for test artifacts (screenshots, traces, videos and their Allure attachments).
+ * Producers block when the queue is full, so a burst of failures cannot exhaust memory.
+ * Allure attachments are registered on the calling test thread and their content is written once the file is ready.
+ */
+public final class ArtifactPipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactPipeline.class);
+    private static final FrameworkConfig CONFIG = ConfigurationManager.configuration();
+    private static final BlockingQueue<Runnable> QUEUE = new ArrayBlockingQueue<>(Math.max(1, CONFIG.artifactsQueueCapacity()));
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private static final LongAdder SUBMITTED = new LongAdder();
+    private static final LongAdder COMPLETED = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+    private static final LongAdder WRITE_NANOS = new LongAdder();
+    private static final AtomicLong MAX_WRITE_NANOS = new AtomicLong();
+    private static final AtomicInteger MAX_QUEUE_DEPTH = new AtomicInteger();
+    private static final LongAdder PRODUCER_WAIT_NANOS = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ArtifactPipeline::drain, "artifact-pipeline-drain")); // страховка, если JUnit не успел вызвать drain
+    }
+
+    private ArtifactPipeline() {
+    }
+
+    /**
+     * Writes bytes to {@code target} in the background (gzip-compressed when {@code artifacts.compress=true}).
+     */
+    public static void write(byte[] bytes, Path target) {
+        submit("write " + target.getFileName(), () -> persist(new ByteArrayInputStream(bytes), target));
+    }
+
+    /**
+     * Registers an Allure attachment now and fills its content in the background.
+     */
+    public static void attach(String name, String mimeType, String extension, byte[] bytes) {
+        String source = Allure.getLifecycle().prepareAttachment(name, mimeType, extension); // привязываем вложение к текущему тесту
+        submit("attach " + name, () -> writeAttachment(source, new ByteArrayInputStream(bytes)));
+    }
+
+    /**
+     * Registers an Allure attachment now and copies {@code file} into it in the background.
+     * The local file is compressed afterwards when {@code artifacts.compress=true}.
+     */
+    public static void attach(String name, String mimeType, String extension, Path file) {
+        String source = Allure.getLifecycle().prepareAttachment(name, mimeType, extension);
+        submit("attach " + name, () -> {
+            try (InputStream stream = Files.newInputStream(file)) { // поток обязательно закрываем
+                writeAttachment(source, stream);
+            }
+            if (CONFIG.artifactsCompress()) {
+                Path compressed = file.resolveSibling(file.getFileName() + ".gz");
+                try (InputStream stream = Files.newInputStream(file)) {
+                    persist(stream, compressed);
+                }
+                Files.delete(file);
+            }
+        });
+    }
+
+    /**
+     * Waits until every queued artifact is written. Intended to be called once all tests have finished.
+     */
+    public static void drain() {
+        if (EXECUTOR.isShutdown()) {
+            return;
+        }
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(5, TimeUnit.MINUTES)) {
+                LOG.warn("Не все артефакты записаны за отведённое время: в очереди осталось {}", QUEUE.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Snapshot stats = snapshot();
+        if (stats.submitted() > 0) {
+            LOG.info("Конвейер артефактов: задач={}, выполнено={}, ошибок={}, записано={} КБ, средняя запись={} мс, максимум={} мс, макс. глубина очереди={}, ожидание продюсеров={} мс",
+                    stats.submitted(), stats.completed(), stats.failed(), stats.bytesWritten() / 1024,
+                    stats.averageWriteMillis(), stats.maxWriteMillis(), stats.maxQueueDepth(), stats.producerWaitMillis());
+        }
+    }
+
+    public static Snapshot snapshot() {
+        long completed = COMPLETED.sum();
+        return new Snapshot(
+                SUBMITTED.sum(),
+                completed,
+                FAILED.sum(),
+                QUEUE.size(),
+                MAX_QUEUE_DEPTH.get(),
+                BYTES_WRITTEN.sum(),
+                completed == 0 ? 0 : WRITE_NANOS.sum() / completed / 1_000_000,
+                MAX_WRITE_NANOS.get() / 1_000_000,
+                PRODUCER_WAIT_NANOS.sum() / 1_000_000
+        );
+    }
+
+    /**
+     * Point-in-time pipeline metrics.
+     */
+    public record Snapshot(long submitted,
+                           long completed,
+                           long failed,
+                           int queueDepth,
+                           int maxQueueDepth,
+                           long bytesWritten,
+                           long averageWriteMillis,
+                           long maxWriteMillis,
+                           long producerWaitMillis) {
+    }
+
+    private static void submit(String description, IoTask task) {
+        SUBMITTED.increment();
+        Runnable runnable = () -> {
+            long started = System.nanoTime();
+            try {
+                task.run();
+                COMPLETED.increment();
+            } catch (IOException | RuntimeException e) {
+                FAILED.increment();
+                LOG.error("Не удалось записать артефакт ({}): {}", description, e.getMessage(), e);
+            } finally {
+                long elapsed = System.nanoTime() - started;
+                WRITE_NANOS.add(elapsed);
+                MAX_WRITE_NANOS.accumulateAndGet(elapsed, Math::max);
+            }
+        };
+        if (EXECUTOR.isShutdown()) {
+            runnable.run(); // после drain пишем синхронно, чтобы ничего не потерять
+            return;
+        }
+        long waitStarted = System.nanoTime();
+        EXECUTOR.execute(runnable); // при заполненной очереди блокирует вызывающий поток — это и есть обратное давление
+        PRODUCER_WAIT_NANOS.add(System.nanoTime() - waitStarted);
+        MAX_QUEUE_DEPTH.accumulateAndGet(QUEUE.size(), Math::max);
+    }
+
+    private static void persist(InputStream content, Path target) throws IOException {
+        FileSystemSupport.ensureDirectory(target.getParent());
+        Path destination = CONFIG.artifactsCompress() && !target.toString().endsWith(".gz")
+                ? target.resolveSibling(target.getFileName() + ".gz")
+                : target;
+        try (OutputStream out = destination.toString().endsWith(".gz")
+                ? new GZIPOutputStream(Files.newOutputStream(destination))
+                : Files.newOutputStream(destination)) {
+            BYTES_WRITTEN.add(content.transferTo(out));
+        }
+    }
+
+    private static void writeAttachment(String source, InputStream content) throws IOException {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        CountingInputStream counting = new CountingInputStream(content);
+        lifecycle.writeAttachment(source, counting);
+        BYTES_WRITTEN.add(counting.count);
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, CONFIG.artifactsWriterThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, QUEUE, runnable -> {
+            Thread thread = new Thread(runnable, "artifact-writer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, pool) -> {
+            if (pool.isShutdown()) {
+                runnable.run();
+                return;
+            }
+            try {
+                pool.getQueue().put(runnable); // ждём места в очереди вместо отказа
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                runnable.run();
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @FunctionalInterface
+    private interface IoTask {
+        void run() throws IOException;
+    }
+
+    private static final class CountingInputStream extends java.io.FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.framework.core.support;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs file updates shared by surefire forks under an exclusive lock file.
+ * {@link FileLock} is held per JVM, so threads of the same JVM are serialised on a monitor of the lock file first.
+ */
+public final class FileLocks {
+
+    private static final Map<Path, Object> JVM_LOCKS = new ConcurrentHashMap<>();
+
+    private FileLocks() {
+    }
+
+    /**
+     * Runs {@code action} while holding {@code lockFile}; the file and its directory are created if missing.
+     */
+    public static void run(Path lockFile, IoAction action) throws IOException {
+        call(lockFile, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Same as {@link #run}, returning the result of {@code action}.
+     */
+    public static <T> T call(Path lockFile, IoSupplier<T> action) throws IOException {
+        Path file = lockFile.toAbsolutePath().normalize();
+        FileSystemSupport.ensureDirectory(file.getParent());
+        synchronized (JVM_LOCKS.computeIfAbsent(file, key -> new Object())) { // FileLock не защищает от потоков той же JVM
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) { // форки ждут друг друга
+                return action.get();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface IoAction {
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+}
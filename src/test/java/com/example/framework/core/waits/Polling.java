@@ -0,0 +1,23 @@
+package com.example.framework.core.waits;
+
+import java.time.Duration;
+
+/**
+ * How often a browser-side predicate is re-evaluated.
+ *
+ * @param interval fixed interval, or {@code null} to re-check on every animation frame
+ */
+public record Polling(Duration interval) {
+
+    public static Polling animationFrame() {
+        return new Polling(null);
+    }
+
+    public static Polling every(Duration interval) {
+        return new Polling(interval);
+    }
+
+    public boolean isAnimationFrame() {
+        return interval == null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.framework.core.waits;
+
+import com.example.framework.core.metrics.StepBudgets;
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Event-driven waits for page objects: network responses, DOM quiescence, URL/frame changes and JS predicates.
+ * Every wait has its own timeout and records how long it actually took in {@link WaitTimings}.
+ */
+public final class WaitEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WaitEngine.class);
+    private static final String DOM_QUIET_SCRIPT = """
+            ([selector, quietMs, timeoutMs]) => new Promise((resolve, reject) => {
+              const target = document.querySelector(selector);
+              if (!target) {
+                reject(new Error('No element matches ' + selector));
+                return;
+              }
+              let quietTimer;
+              const observer = new MutationObserver(() => {
+                clearTimeout(quietTimer);
+                quietTimer = setTimeout(done, quietMs);
+              });
+              const deadline = setTimeout(() => {
+                observer.disconnect();
+                clearTimeout(quietTimer);
+                reject(new Error('DOM under ' + selector + ' kept changing for ' + timeoutMs + ' ms'));
+              }, timeoutMs);
+              function done() {
+                observer.disconnect();
+                clearTimeout(deadline);
+                resolve(true);
+              }
+              observer.observe(target, {subtree: true, childList: true, attributes: true, characterData: true});
+              quietTimer = setTimeout(done, quietMs);
+            })
+            """;
+
+    private final Page page;
+    private final Duration defaultTimeout;
+
+    public WaitEngine(Page page, Duration defaultTimeout) {
+        this.page = page;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public WaitOptions defaults() {
+        return WaitOptions.within(StepBudgets.currentTimeout(page).orElse(defaultTimeout)); // внутри шага действует его выученный бюджет
+    }
+
+    /**
+     * Runs {@code trigger} and waits for the first response accepted by {@code matcher}.
+     */
+    public Response response(String description, Predicate<Response> matcher, WaitOptions options, Runnable trigger) {
+        return timed("response: " + description, () -> page.waitForResponse(matcher,
+                new Page.WaitForResponseOptions().setTimeout(options.timeout().toMillis()), trigger));
+    }
+
+    /**
+     * Waits until nothing under {@code selector} has changed for {@code quietPeriod}; mutations are observed, not polled.
+     */
+    public void domQuiet(String selector, Duration quietPeriod, WaitOptions options) {
+        timed("dom quiet: " + selector, () -> {
+            page.locator(selector).first().waitFor(new Locator.WaitForOptions()
+                    .setState(WaitForSelectorState.ATTACHED)
+                    .setTimeout(options.timeout().toMillis()));
+            return page.evaluate(DOM_QUIET_SCRIPT, List.of(selector, quietPeriod.toMillis(), options.timeout().toMillis()));
+        });
+    }
+
+    /**
+     * Waits for the main frame URL to satisfy {@code matcher}.
+     */
+    public void url(String description, Predicate<String> matcher, WaitOptions options) {
+        timed("url: " + description, () -> {
+            page.waitForURL(matcher, new Page.WaitForURLOptions().setTimeout(options.timeout().toMillis()));
+            return null;
+        });
+    }
+
+    /**
+     * Waits for the main frame to leave {@code previousUrl}. The URL is logged rather than put into the description,
+     * which is the {@link WaitTimings} key and must not differ per page.
+     */
+    public void urlChange(String previousUrl, WaitOptions options) {
+        LOG.info("Ждём ухода со страницы {}", previousUrl);
+        url("change", current -> !current.equals(previousUrl), options);
+    }
+
+    /**
+     * Waits until some frame of the page has a URL accepted by {@code matcher}; driven by frame events.
+     */
+    public Frame frame(String description, Predicate<String> matcher, WaitOptions options) {
+        return timed("frame: " + description, () -> {
+            page.waitForCondition(() -> page.frames().stream().anyMatch(frame -> matcher.test(frame.url())),
+                    new Page.WaitForConditionOptions().setTimeout(options.timeout().toMillis()));
+            return page.frames().stream().filter(frame -> matcher.test(frame.url())).findFirst().orElseThrow();
+        });
+    }
+
+    /**
+     * Waits for a JS predicate evaluated in the page to become truthy, using the polling strategy from {@code options}.
+     */
+    public void predicate(String description, String expression, Object arg, WaitOptions options) {
+        timed("predicate: " + description, () -> {
+            Page.WaitForFunctionOptions functionOptions = new Page.WaitForFunctionOptions()
+                    .setTimeout(options.timeout().toMillis());
+            if (!options.polling().isAnimationFrame()) {
+                functionOptions.setPollingInterval(options.polling().interval().toMillis());
+            }
+            return page.waitForFunction(expression, arg, functionOptions);
+        });
+    }
+
+    private <R> R timed(String condition, Supplier<R> wait) {
+        long started = System.nanoTime();
+        boolean satisfied = false;
+        try {
+            R result = wait.get();
+            satisfied = true;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            WaitTimings.record(condition, elapsed, satisfied);
+            LOG.info("Ожидание '{}' {} за {} мс", condition, satisfied ? "выполнено" : "не выполнено", elapsed / 1_000_000);
+        }
+    }
+}
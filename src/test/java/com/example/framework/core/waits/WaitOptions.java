@@ -0,0 +1,17 @@
+package com.example.framework.core.waits;
+
+import java.time.Duration;
+
+/**
+ * Timeout and polling strategy of a single wait condition.
+ */
+public record WaitOptions(Duration timeout, Polling polling) {
+
+    public static WaitOptions within(Duration timeout) {
+        return new WaitOptions(timeout, Polling.animationFrame());
+    }
+
+    public WaitOptions polling(Polling newPolling) {
+        return new WaitOptions(timeout, newPolling);
+    }
+}
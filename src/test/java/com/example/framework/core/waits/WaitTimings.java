@@ -0,0 +1,58 @@
+package com.example.framework.core.waits;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide record of how long each kind of wait actually took.
+ */
+public final class WaitTimings {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WaitTimings.class);
+    private static final Map<String, Timing> TIMINGS = new ConcurrentHashMap<>();
+
+    private WaitTimings() {
+    }
+
+    static void record(String condition, long nanos, boolean satisfied) {
+        TIMINGS.computeIfAbsent(condition, key -> new Timing()).add(nanos, satisfied);
+    }
+
+    public static void logSummary() {
+        if (TIMINGS.isEmpty()) {
+            return;
+        }
+        new TreeMap<>(TIMINGS).forEach((condition, timing) ->
+                LOG.info("Ожидание '{}': вызовов={}, тайм-аутов={}, всего={} мс, среднее={} мс, максимум={} мс",
+                        condition, timing.count.sum(), timing.timeouts.sum(), timing.totalNanos.sum() / 1_000_000,
+                        timing.averageMillis(), timing.maxNanos.get() / 1_000_000));
+    }
+
+    private static final class Timing {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void add(long nanos, boolean satisfied) {
+            count.increment();
+            if (!satisfied) {
+                timeouts.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private long averageMillis() {
+            long calls = count.sum();
+            return calls == 0 ? 0 : totalNanos.sum() / calls / 1_000_000;
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.framework.pages;
 
 import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.InitialNavigation;
+import com.example.framework.core.SessionWatchdog;
+import com.example.framework.core.TraceChunks;
+import com.example.framework.core.metrics.NavigationMetrics;
+import com.example.framework.core.metrics.StepBudgets;
+import com.example.framework.core.metrics.StepLatency;
+import com.example.framework.core.waits.WaitEngine;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.WaitForSelectorState;
@@ -11,6 +18,12 @@ import org.junit.jupiter.api.Assertions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -22,11 +35,21 @@ public abstract class BasePage<T extends BasePage<T>> {
 
     protected final Page page;
     protected final FrameworkConfig config;
+    protected final WaitEngine waits;
     protected final Logger log = LoggerFactory.getLogger(getClass());
 
+    private static final String EXTRACT_ROWS_SCRIPT = """
+            (rows, [fields, from, to]) => rows.slice(from, to).map(row => Object.fromEntries(
+              Object.entries(fields).map(([name, selector]) => {
+                const element = selector ? row.querySelector(selector) : row;
+                return [name, element ? element.innerText.trim() : null];
+              })))
+            """;
+
     protected BasePage(Page page, FrameworkConfig config) {
         this.page = page; // общий Playwright Page для действий страницы
         this.config = config; // нужен для доступа к baseUrl и таймаутам
+        this.waits = new WaitEngine(page, config.timeout()); // ожидания по событиям вместо фиксированных пауз
     }
 
     protected abstract T self();
@@ -35,7 +58,7 @@ public abstract class BasePage<T extends BasePage<T>> {
     public T openHome() {
         return step("Open application base URL", () -> {
             log.info("Переходим на базовый адрес {}", config.baseUrl());
-            page.navigate(config.baseUrl(), new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
+            navigateTo(config.baseUrl(), new Page.NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
             return self();
         });
     }
@@ -45,7 +68,7 @@ public abstract class BasePage<T extends BasePage<T>> {
         String stepName = "Navigate to path: " + path;
         return step(stepName, () -> {
             log.info("Открываем путь {}{}", config.baseUrl(), path);
-            page.navigate(config.baseUrl() + path); // даёт возможность работать с относительными путями
+            navigateTo(config.baseUrl() + path, new Page.NavigateOptions()); // даёт возможность работать с относительными путями
             return self();
         });
     }
@@ -54,7 +77,7 @@ public abstract class BasePage<T extends BasePage<T>> {
     public T expectTitleContains(String expected) {
         String stepName = "Expect page title to contain: " + expected;
         return step(stepName, () -> {
-            String actual = page.title();
+            String actual = loadedPage().title();
             log.info("Проверяем, что заголовок страницы содержит '{}'", expected);
             Assertions.assertTrue(actual.contains(expected),
                     () -> "Expected title to contain [%s] but was [%s]".formatted(expected, actual));
@@ -73,7 +96,79 @@ public abstract class BasePage<T extends BasePage<T>> {
     }
 
     protected Locator locator(String selector) {
-        return page.locator(selector); // базовый хелпер: все элементы ищем одинаково
+        return loadedPage().locator(selector); // базовый хелпер: все элементы ищем одинаково
+    }
+
+    /**
+     * Returns the page after the deferred start page (lazy navigation mode) has been loaded.
+     */
+    protected Page loadedPage() {
+        InitialNavigation.ensureLoaded(page);
+        return page;
+    }
+
+    /**
+     * Navigates away explicitly; a deferred start page is dropped instead of being loaded first.
+     * Navigation timing and Web Vitals are collected afterwards when {@code perf.vitals.enabled=true}.
+     */
+    protected void navigateTo(String url, Page.NavigateOptions options) {
+        InitialNavigation.cancel(page);
+        page.navigate(url, options);
+        NavigationMetrics.collect(page);
+    }
+
+    /**
+     * Reads text of several fields from every row matching {@code rowSelector} in a single driver round trip.
+     *
+     * @param rowSelector selector of repeated rows (cards, table rows)
+     * @param fields      field name to sub-selector relative to the row; an empty sub-selector reads the row itself
+     * @param mapper      converts a row (field name to text, {@code null} when the sub-element is absent) into a record
+     */
+    protected <R> List<R> extractAll(String rowSelector, Map<String, String> fields, Function<Map<String, String>, R> mapper) {
+        List<Map<String, String>> rows = extractRows(locator(rowSelector), fields, 0, Integer.MAX_VALUE);
+        log.info("Извлечено {} строк(и) по '{}' за один вызов evaluateAll вместо {} обращений к драйверу",
+                rows.size(), rowSelector, rows.size() * fields.size() + 1);
+        return rows.stream().map(mapper).toList();
+    }
+
+    /**
+     * Streaming variant of {@link #extractAll} for very large lists: rows are serialised in batches of
+     * {@code batchSize} so that neither the driver message nor the Java side holds the whole list at once.
+     *
+     * @return number of rows handed to {@code sink}
+     */
+    protected <R> int streamAll(String rowSelector,
+                                Map<String, String> fields,
+                                int batchSize,
+                                Function<Map<String, String>, R> mapper,
+                                Consumer<? super R> sink) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        Locator rows = locator(rowSelector);
+        int total = 0;
+        int batches = 0;
+        List<Map<String, String>> batch;
+        do {
+            batch = extractRows(rows, fields, total, total + batchSize);
+            batch.stream().map(mapper).forEach(sink);
+            total += batch.size();
+            batches++;
+        } while (batch.size() == batchSize);
+        log.info("Потоково извлечено {} строк(и) по '{}' за {} вызов(а) evaluateAll", total, rowSelector, batches);
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, String>> extractRows(Locator rows, Map<String, String> fields, int from, int to) {
+        Object raw = rows.evaluateAll(EXTRACT_ROWS_SCRIPT, List.of(fields, from, to)); // вся выборка выполняется внутри страницы
+        List<Map<String, String>> result = new ArrayList<>();
+        for (Object row : (List<Object>) raw) {
+            Map<String, String> values = new LinkedHashMap<>();
+            ((Map<String, Object>) row).forEach((name, value) -> values.put(name, value == null ? null : value.toString()));
+            result.add(values);
+        }
+        return result;
     }
 
     protected T step(String name, Supplier<T> supplier) {
@@ -82,10 +177,31 @@ public abstract class BasePage<T extends BasePage<T>> {
 
     protected <R> R stepResult(String name, Supplier<R> supplier) {
         StepResult<R> result = new StepResult<>();
-        Allure.step(name, () -> result.value = supplier.get());
+        Allure.step(name, () -> {
+            TraceChunks.beginStep(page, name); // каждый шаг попадает в отдельный чанк трейса
+            SessionWatchdog.beginStep(page, name); // при зависании сторож сообщит, на каком шаге
+            long started = System.nanoTime();
+            try (StepBudgets.Scope budget = StepBudgets.enter(page, name)) { // при step.timeout.mode=enforce шаг ждёт не дольше выученного бюджета
+                try {
+                    result.value = supplier.get();
+                    budget.completed(System.nanoTime() - started);
+                } catch (RuntimeException | Error e) {
+                    throw budget.failed(e, System.nanoTime() - started);
+                }
+            } finally {
+                StepLatency.record(page, name, System.nanoTime() - started); // упавшие шаги тоже учитываем
+            }
+        });
         return result.value;
     }
 
+    protected void stepRun(String name, Runnable action) {
+        stepResult(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
     private static final class StepResult<R> {
         private R value;
     }
@@ -1,6 +1,9 @@
 package com.example.framework.pages;
 
 import com.example.framework.config.FrameworkConfig;
+import com.example.framework.core.waits.Polling;
+import com.example.framework.core.waits.WaitOptions;
+import com.microsoft.playwright.Frame;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Page.NavigateOptions;
@@ -8,6 +11,9 @@ import com.microsoft.playwright.options.WaitUntilState;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import io.qameta.allure.Step;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * Page object encapsulating interactions with https://ufc.ru/.
  */
@@ -17,6 +23,12 @@ public class UfcHomePage extends BasePage<UfcHomePage> {
     private static final String SEARCH_TOGGLE = "button[aria-label=\"Search panel toggle\"]";
     private static final String SEARCH_INPUT = "#yxt-SearchBar-input--search-bar";
     private static final String SUGGESTION_ITEMS = "li.yxt-AutoComplete-option--item";
+    private static final String ANSWERS_FRAME = "#answers-frame";
+    private static final String ANSWERS_FRAME_URL = "selector => document.querySelector(selector)?.src ?? ''"; // абсолютный адрес, даже если в атрибуте относительный
+    private static final String ANSWERS_FRAME_CHANGED =
+            "([selector, previous]) => { const src = document.querySelector(selector)?.src; return !!src && src !== previous; }";
+    private static final String ANSWERS_NAV = "a.yxt-Nav-item";
+    private static final Duration RESULTS_TIMEOUT = Duration.ofSeconds(10);
 
     public UfcHomePage(Page page, FrameworkConfig config) {
         super(page, config); // пробрасываем Playwright Page и настройки в базовый конструктор
@@ -30,8 +42,9 @@ public class UfcHomePage extends BasePage<UfcHomePage> {
     @Step("Open UFC home page")
     public UfcHomePage open() {
         return step("Open UFC home page", () -> {
-            log.info("Открываем главную страницу UFC {}", UFC_HOME_URL);
-            page.navigate(UFC_HOME_URL, new NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED)); // ждём, пока основное содержимое загрузится
+            String url = config.fixtureEnabled() ? config.baseUrl() : UFC_HOME_URL; // в профиле fixture — локальная копия сайта
+            log.info("Открываем главную страницу UFC {}", url);
+            navigateTo(url, new NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED)); // ждём, пока основное содержимое загрузится
             return this;
         });
     }
@@ -40,7 +53,7 @@ public class UfcHomePage extends BasePage<UfcHomePage> {
     public UfcHomePage openSearchPanel() {
         return step("Toggle the search panel", () -> {
             log.info("Раскрываем панель поиска");
-            page.click(SEARCH_TOGGLE); // раскрываем скрытую панель поиска
+            locator(SEARCH_TOGGLE).click(); // раскрываем скрытую панель поиска
             return this;
         });
     }
@@ -49,7 +62,7 @@ public class UfcHomePage extends BasePage<UfcHomePage> {
     public UfcHomePage focusSearchInput() {
         return step("Focus the search input", () -> {
             log.info("Устанавливаем фокус на поле поиска {}", SEARCH_INPUT);
-            Locator input = page.locator(SEARCH_INPUT);
+            Locator input = locator(SEARCH_INPUT);
             input.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE)); // дожидаемся появления поля
             input.click(); // и ставим в него фокус
             return this;
@@ -62,8 +75,7 @@ public class UfcHomePage extends BasePage<UfcHomePage> {
             waitForSuggestions();
             Locator first = suggestions().first(); // Playwright возвращает все подходящие элементы
             log.info("Выбираем первую подсказку из {}", SUGGESTION_ITEMS);
-            first.click();
-            page.waitForTimeout(1000); // даём сайту время обновить результаты
+            search(first); // ждём обновления результатов по событиям DOM, а не фиксированную секунду
             return new UfcSearchPage(page, config);
         });
     }
@@ -74,18 +86,34 @@ public class UfcHomePage extends BasePage<UfcHomePage> {
             waitForSuggestions();
             Locator last = suggestions().last(); // выбираем другой элемент, чтобы убедиться, что список реагирует
             log.info("Выбираем последнюю подсказку из {}", SUGGESTION_ITEMS);
-            last.click();
-            page.waitForTimeout(1000);
+            search(last);
             return this;
         });
     }
 
+    private void search(Locator suggestion) {
+        String previousSrc = (String) loadedPage().evaluate(ANSWERS_FRAME_URL, ANSWERS_FRAME); // адрес прошлого поиска, пустой до первого
+        suggestion.click();
+        waitForSearchResults(previousSrc);
+    }
+
+    private void waitForSearchResults(String previousSrc) {
+        WaitOptions options = WaitOptions.within(RESULTS_TIMEOUT).polling(Polling.every(Duration.ofMillis(100)));
+        waits.predicate("answers iframe src changed", ANSWERS_FRAME_CHANGED, List.of(ANSWERS_FRAME, previousSrc), options); // повторный поиск не довольствуется старым фреймом
+        String src = (String) page.evaluate(ANSWERS_FRAME_URL, ANSWERS_FRAME);
+        log.info("Результаты поиска загружаются во фрейм {}", src); // адрес — в лог: описание ожидания остаётся ключом статистики
+        Frame answers = waits.frame("answers iframe document", src::equals, WaitOptions.within(RESULTS_TIMEOUT)); // документ фрейма перешёл на новый адрес
+        answers.locator(ANSWERS_NAV).first().waitFor(new Locator.WaitForOptions()
+                .setState(WaitForSelectorState.VISIBLE)
+                .setTimeout(RESULTS_TIMEOUT.toMillis())); // и отрисовал выдачу
+    }
+
     private void waitForSuggestions() {
         suggestions().first().waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE)); // ждём, пока появятся подсказки
     }
 
     private Locator suggestions() {
-        return page.locator(SUGGESTION_ITEMS); // селектор для всех элементов подсказок
+        return locator(SUGGESTION_ITEMS); // селектор для всех элементов подсказок
     }
 }
 
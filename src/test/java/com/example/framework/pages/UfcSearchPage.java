@@ -1,24 +1,35 @@
 package com.example.framework.pages;
 
 import com.example.framework.config.FrameworkConfig;
-import com.microsoft.playwright.Locator;
+import com.example.framework.core.waits.WaitOptions;
+import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Page.NavigateOptions;
 import com.microsoft.playwright.options.WaitUntilState;
-import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
 import org.junit.jupiter.api.Assertions;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class UfcSearchPage extends BasePage<UfcSearchPage> {
 
     public static final String FILTER_OLDNEW_TOURNEY = "#yxt-SortOptions-option_SortOptions_2";
     public static final String FILTER_APPLY = "button.yxt-SortOptions-apply:has-text('Применить')";
+    private static final String DATE_CONTAINERS = "div.HitchhikerEventStandard-dateInnerWrapper";
+    private static final Map<String, String> DATE_FIELDS = Map.of(
+            "day", "span.HitchhikerEventStandard-day",
+            "month", "span.HitchhikerEventStandard-month",
+            "year", "span.HitchhikerEventStandard-year"
+    );
+    private static final String SEARCH_API = "/answers/vertical/query";
+    private static final String FIRST_CARD_REPLACED = "([card, selector]) => document.querySelector(selector) !== card";
+    private static final Duration RESULTS_TIMEOUT = Duration.ofSeconds(10);
 
     public UfcSearchPage(Page page, FrameworkConfig config) {
         super(page, config);
@@ -31,29 +42,37 @@ public class UfcSearchPage extends BasePage<UfcSearchPage> {
 
     @Step("Apply tournaments filter from embedded search card")
     public UfcSearchPage applyFilter() {
-        return Allure.step("Apply tournaments filter from embedded search card", () -> {
-            Allure.step("Открываем вкладку 'Турниры'", () -> {
+        return step("Apply tournaments filter from embedded search card", () -> {
+            stepRun("Открываем вкладку 'Турниры'", () -> {
                 log.info("Открываем вкладку 'Турниры' внутри встроенной карты поиска");
-                page.frameLocator("#answers-frame")
+                loadedPage().frameLocator("#answers-frame")
                         .locator("a.yxt-Nav-item:has-text('ТУРНИРЫ')")
                         .click();
             });
 
-            String iframeSrc = page.locator("#answers-frame").getAttribute("src");
+            String iframeSrc = locator("#answers-frame").getAttribute("src");
             if (iframeSrc == null || iframeSrc.isBlank()) {
                 throw new IllegalStateException("Iframe src attribute is not available for locator: #answers-frame");
             }
 
-            Allure.step("Переходим во встроенный iframe", () -> {
+            stepRun("Переходим во встроенный iframe", () -> {
                 log.info("Переходим по адресу iframe {}", iframeSrc);
-                page.navigate(iframeSrc, new NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
+                navigateTo(iframeSrc, new NavigateOptions().setWaitUntil(WaitUntilState.DOMCONTENTLOADED));
             });
 
-            Allure.step("Выбираем и применяем сортировку турниров", () -> {
+            stepRun("Выбираем и применяем сортировку турниров", () -> {
                 log.info("Выбираем сортировку турниров {}", FILTER_OLDNEW_TOURNEY);
-                page.click(FILTER_OLDNEW_TOURNEY);
-                log.info("Подтверждаем фильтр кнопкой {}", FILTER_APPLY);
-                page.click(FILTER_APPLY);
+                locator(FILTER_OLDNEW_TOURNEY).click();
+                ElementHandle firstCard = locator(DATE_CONTAINERS).first().elementHandle(); // карточка до сортировки
+                try {
+                    log.info("Подтверждаем фильтр кнопкой {}", FILTER_APPLY);
+                    WaitOptions options = WaitOptions.within(RESULTS_TIMEOUT);
+                    waits.response("sorted search results", response -> response.url().contains(SEARCH_API), options,
+                            () -> locator(FILTER_APPLY).click()); // сортировка — это запрос к поисковому API
+                    waits.predicate("first card re-rendered", FIRST_CARD_REPLACED, List.of(firstCard, DATE_CONTAINERS), options); // и перерисовка выдачи по его ответу
+                } finally {
+                    firstCard.dispose(); // иначе ссылка на узел живёт в драйвере до закрытия страницы
+                }
             });
 
             checkFilter();
@@ -62,27 +81,17 @@ public class UfcSearchPage extends BasePage<UfcSearchPage> {
     }
 
     private void checkFilter() {
-        Allure.step("Проверяем сортировку дат на карточках турниров", () -> {
-            Locator dateContainers = page.locator("div.HitchhikerEventStandard-dateInnerWrapper");
-            dateContainers.first().waitFor();
+        stepRun("Проверяем сортировку дат на карточках турниров", () -> {
+            locator(DATE_CONTAINERS).first().waitFor();
 
-            int count = dateContainers.count();
-            if (count == 0) {
+            // одна выборка в браузере вместо трёх innerText() на каждую карточку
+            List<LocalDate> collectedDates = extractAll(DATE_CONTAINERS, DATE_FIELDS,
+                    row -> parseRussianDate(requireField(row, "day"), requireField(row, "month"), requireField(row, "year")));
+            if (collectedDates.isEmpty()) {
                 throw new IllegalStateException("Не удалось найти элементы с датами для проверки сортировки");
             }
 
-            log.info("Найдено {} контейнеров с датами для проверки сортировки", count);
-            List<LocalDate> collectedDates = new ArrayList<>(count);
-
-            for (int i = 0; i < count; i++) {
-                Locator container = dateContainers.nth(i);
-
-                String day = container.locator("span.HitchhikerEventStandard-day").innerText().trim();
-                String month = container.locator("span.HitchhikerEventStandard-month").innerText().trim();
-                String year = container.locator("span.HitchhikerEventStandard-year").innerText().trim();
-
-                collectedDates.add(parseRussianDate(day, month, year));
-            }
+            log.info("Найдено {} контейнеров с датами для проверки сортировки", collectedDates.size());
 
             List<LocalDate> sorted = new ArrayList<>(collectedDates);
             sorted.sort(Comparator.naturalOrder());
@@ -92,6 +101,14 @@ public class UfcSearchPage extends BasePage<UfcSearchPage> {
         });
     }
 
+    private String requireField(Map<String, String> row, String field) {
+        String value = row.get(field);
+        if (value == null) {
+            throw new IllegalStateException("Поле '" + field + "' не найдено в карточке турнира: " + row);
+        }
+        return value;
+    }
+
     private LocalDate parseRussianDate(String dayText, String monthText, String yearText) {
         int day = Integer.parseInt(dayText.trim());
         int month = resolveMonth(monthText);
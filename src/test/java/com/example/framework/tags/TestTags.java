@@ -9,6 +9,7 @@ public final class TestTags {
     public static final String REGRESSION = "Regression";
     public static final String SLOW = "Slow";
     public static final String FLAKY = "Flaky";
+    public static final String PERFORMANCE = "Performance";
 
     private TestTags() {
     }
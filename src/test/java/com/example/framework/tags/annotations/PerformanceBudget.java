@@ -0,0 +1,55 @@
+package com.example.framework.tags.annotations;
+
+import com.example.framework.tags.TestTags;
+import org.junit.jupiter.api.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares performance limits that {@code PlaywrightExtension} checks after the test; negative values mean "no limit".
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Tag(TestTags.PERFORMANCE)
+public @interface PerformanceBudget {
+
+    /**
+     * Slowest page-object navigation (load end, or DOMContentLoaded end when load has not finished).
+     */
+    long maxNavigationMs() default -1;
+
+    /**
+     * Slowest page-object step.
+     */
+    long maxStepMs() default -1;
+
+    /**
+     * Bytes received by the whole session. This is a lower bound: the larger of the {@code Content-Length} total of all
+     * responses and the Resource Timing {@code transferSize} of measured navigations, both of which miss some traffic.
+     */
+    long maxTransferredKb() default -1;
+
+    /**
+     * Finished network requests of the whole session.
+     */
+    int maxRequests() default -1;
+
+    Mode mode() default Mode.SOFT;
+
+    enum Mode {
+        /**
+         * Violations are only reported in Allure and the log.
+         */
+        SOFT,
+
+        /**
+         * Violations fail the test.
+         */
+        HARD
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.framework.tests.fixture;
+
+import com.example.framework.config.ConfigurationManager;
+import com.example.framework.core.BaseTest;
+import com.example.framework.core.annotations.BrowserMatrix;
+import com.example.framework.core.annotations.StartAt;
+import com.example.framework.core.annotations.Viewport;
+import com.example.framework.tags.annotations.PerformanceBudget;
+import com.example.framework.tags.annotations.Smoke;
+import com.microsoft.playwright.Page;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Session annotations checked against the local fixture site ({@code mvn -Pfixture test}).
+ */
+@Epic("Framework")
+@Feature("Session annotations")
+@Execution(ExecutionMode.CONCURRENT)
+@EnabledIf("fixtureEnabled")
+class FixtureAnnotationsTest extends BaseTest {
+
+    private static final String FIXTURE_TITLE = "UFC — локальная фикстура";
+
+    static boolean fixtureEnabled() {
+        return ConfigurationManager.configuration().fixtureEnabled(); // на живом сайте проверки не имеют смысла
+    }
+
+    @Test
+    @Smoke
+    @StartAt("answers?results=3")
+    @DisplayName("@StartAt opens the given path instead of baseUrl")
+    void startAtPath() {
+        Page page = session().page();
+
+        assertTrue(page.url().startsWith(config().baseUrl() + "answers"), page.url());
+        assertEquals(3, page.locator(".HitchhikerEventStandard").count());
+    }
+
+    @Test
+    @Smoke
+    @Viewport(width = 390, height = 844)
+    @DisplayName("@Viewport sizes the context of the test")
+    void viewport() {
+        Page page = session().page();
+
+        assertEquals(390, page.viewportSize().width);
+        assertEquals(844, page.viewportSize().height);
+        assertEquals(390, ((Number) page.evaluate("() => window.innerWidth")).intValue());
+    }
+
+    @BrowserMatrix({"chromium", "firefox"})
+    @DisplayName("@BrowserMatrix runs the test once per engine")
+    void browserMatrix() {
+        Page page = session().page();
+
+        assertTrue(List.of("chromium", "firefox").contains(page.context().browser().browserType().name()));
+        assertEquals(FIXTURE_TITLE, page.title());
+    }
+
+    @Test
+    @PerformanceBudget(maxNavigationMs = 10_000, maxTransferredKb = 1_024, maxRequests = 50, mode = PerformanceBudget.Mode.HARD)
+    @DisplayName("@PerformanceBudget measures the start page and passes within generous limits")
+    void performanceBudget() {
+        assertEquals(FIXTURE_TITLE, session().page().title());
+        assertTrue(session().traffic().orElseThrow().requests() > 0); // бюджет включает подсчёт трафика сессии
+    }
+}